@@ -0,0 +1,70 @@
+package org.example.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.example.Column;
+import org.example.SchemaCompiler;
+import org.example.runtime.RecordParser;
+import org.example.runtime.RejectSinks;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the allocation of building one Record per line with forEachMapped, and of reading the same values through
+ * the reusable cursor of forEachCursor, which sums the int columns and the length of the string columns.
+ * Run with "-prof gc" to report gc.alloc.rate.norm, i.e. the bytes allocated per operation:
+ * <pre>
+ * gradle jmh -PjmhArgs="CursorBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CursorBenchmark {
+    @Param({"16"})
+    int columns;
+
+    @Param({"100000"})
+    int rows;
+
+    RecordParser<Object> parser;
+    List<Column> cols;
+    Path data;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        cols = SyntheticData.columns(columns, 16);
+        parser = new SchemaCompiler().compile(cols).newParser();
+        parser.setRejectSink(RejectSinks.countOnly());
+        data = Files.createTempFile("cursor-benchmark", ".txt");
+        SyntheticData.writeData(data, cols, rows, 0.0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(data);
+    }
+
+    @Benchmark
+    public void records(Blackhole blackhole) throws IOException {
+        parser.forEachMapped(data.toString(), blackhole::consume);
+    }
+
+    @Benchmark
+    public long cursor() throws IOException {
+        long[] sum = {0};
+        parser.forEachCursor(data.toString(), cursor -> {
+            for (int i = 0; i < columns; i++) {
+                sum[0] += i % 4 == 3 ? cursor.getInt(i) : cursor.getChars(i).length();
+            }
+        });
+        return sum[0];
+    }
+}
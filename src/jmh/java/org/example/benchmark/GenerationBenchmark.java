@@ -0,0 +1,47 @@
+package org.example.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.example.Column;
+import org.example.CompiledSchema;
+import org.example.Generator;
+import org.example.SchemaCompiler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the cost per schema of merging the templates, and of compiling the generated classes in memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenerationBenchmark {
+    @Param({"4", "64"})
+    int columns;
+
+    Generator generator;
+    SchemaCompiler compiler;
+    List<Column> cols;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        generator = new Generator();
+        compiler = new SchemaCompiler(generator);
+        cols = SyntheticData.columns(columns, 16);
+    }
+
+    @Benchmark
+    public void render(Blackhole blackhole) {
+        blackhole.consume(generator.renderRecordClass(cols, "org.example.benchmark.generated"));
+        blackhole.consume(generator.renderFLPClass(cols, "org.example.benchmark.generated"));
+    }
+
+    @Benchmark
+    public CompiledSchema compile() {
+        return compiler.compile(cols);
+    }
+}
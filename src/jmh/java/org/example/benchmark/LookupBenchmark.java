@@ -0,0 +1,74 @@
+package org.example.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.example.Column;
+import org.example.CompiledSchema;
+import org.example.SchemaCompiler;
+import org.example.runtime.RecordParser;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares finding the records of a key through a KeyIndex with lookup, and by parsing the whole file and scanning
+ * the Records. The index is built once, before the measurements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LookupBenchmark {
+    @Param({"1000000"})
+    int rows;
+
+    RecordParser<Object> parser;
+    Function<Object, Object> keyOf;
+    Path data;
+    Path index;
+    String key;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Column> cols = SyntheticData.columns(8, 16);
+        CompiledSchema schema = new SchemaCompiler().compile(cols);
+        parser = schema.newParser();
+        keyOf = schema.accessor("col0");
+        data = Files.createTempFile("lookup-benchmark", ".txt");
+        SyntheticData.writeData(data, cols, rows, 0.0);
+        index = data.resolveSibling(data.getFileName() + ".idx");
+        parser.buildIndex(data.toString(), "col0", index.toString());
+        try (BufferedReader reader = Files.newBufferedReader(data)) {
+            key = reader.readLine().substring(0, 16).trim();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(data);
+        Files.deleteIfExists(index);
+    }
+
+    @Benchmark
+    public List<Object> lookup() throws IOException {
+        return parser.lookup(data.toString(), "col0", index.toString(), key);
+    }
+
+    @Benchmark
+    public List<Object> parseFileAndScan() throws IOException {
+        List<Object> found = new ArrayList<>();
+        for (Object record : parser.parseFile(data.toString())) {
+            if (key.equals(keyOf.apply(record))) {
+                found.add(record);
+            }
+        }
+        return found;
+    }
+}
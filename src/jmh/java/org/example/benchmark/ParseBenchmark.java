@@ -0,0 +1,89 @@
+package org.example.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.example.Column;
+import org.example.SchemaCompiler;
+import org.example.runtime.RecordParser;
+import org.example.runtime.RejectSinks;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the time to parse a whole synthetic file with the generated FixedLengthParser, for different record widths,
+ * column counts, file sizes and ratios of malformed lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+    @Param({"4", "16", "64"})
+    int columns;
+
+    @Param({"8", "32"})
+    int columnWidth;
+
+    @Param({"100000", "1000000"})
+    int rows;
+
+    @Param({"0.0", "0.05"})
+    double invalidRatio;
+
+    RecordParser<Object> parser;
+    Path data;
+    Path cache;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Column> cols = SyntheticData.columns(columns, columnWidth);
+        parser = new SchemaCompiler().compile(cols).newParser();
+        parser.setRejectSink(RejectSinks.countOnly());
+        data = Files.createTempFile("parse-benchmark", ".txt");
+        SyntheticData.writeData(data, cols, rows, invalidRatio);
+        cache = data.resolveSibling(data.getFileName() + ".cache");
+        parser.writeColumnarCache(data.toString(), cache.toString(), 4096);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(data);
+        Files.deleteIfExists(cache);
+    }
+
+    @Benchmark
+    public List<Object> parseFile() throws IOException {
+        return parser.parseFile(data.toString());
+    }
+
+    @Benchmark
+    public void forEach(Blackhole blackhole) throws IOException {
+        parser.forEach(data.toString(), blackhole::consume);
+    }
+
+    @Benchmark
+    public void forEachMapped(Blackhole blackhole) throws IOException {
+        parser.forEachMapped(data.toString(), blackhole::consume);
+    }
+
+    @Benchmark
+    public void forEachBatch(Blackhole blackhole) throws IOException {
+        parser.forEachBatch(data.toString(), 4096, blackhole::consume);
+    }
+
+    @Benchmark
+    public void forEachBatchCached(Blackhole blackhole) throws IOException {
+        parser.forEachBatchCached(data.toString(), cache.toString(), 4096, blackhole::consume);
+    }
+
+    @Benchmark
+    public List<Object> parseFileParallel() throws IOException {
+        return parser.parseFileParallel(data.toString());
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.example.runtime.ByteScanner;
+import org.example.runtime.ByteScanners;
+import org.example.runtime.ByteSlice;
+import org.example.runtime.MappedLineReader;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares the scalar and the vectorized ByteScanner on wide records: every line of the file is found by a
+ * MappedLineReader using the scanner, and every field of the line is trimmed by the same scanner. The whole parsers
+ * can be compared by running ParseBenchmark with and without -Dorg.example.vector=true.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScanBenchmark {
+    @Param({"200000"})
+    int rows;
+
+    @Param({"1024"})
+    int width;
+
+    @Param({"32"})
+    int fieldWidth;
+
+    @Param({"scalar", "vector"})
+    String scannerName;
+
+    ByteScanner scanner;
+    MappedLineReader reader;
+    Path data;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        scanner = "vector".equals(scannerName) ? ByteScanners.vectorized() : ByteScanners.SCALAR;
+        if (scanner == null) {
+            throw new IllegalStateException("The Vector API is not available, run with --add-modules jdk.incubator.vector");
+        }
+        reader = new MappedLineReader(MappedLineReader.DEFAULT_WINDOW_SIZE, scanner);
+        data = Files.createTempFile("scan-benchmark", ".txt");
+
+        // Left-aligned values of a third of the field on average, padded with blanks
+        Random random = new Random(SyntheticData.SEED);
+        StringBuilder line = new StringBuilder(width);
+        try (BufferedWriter writer = Files.newBufferedWriter(data)) {
+            for (int row = 0; row < rows; row++) {
+                line.setLength(0);
+                while (line.length() < width) {
+                    int length = Math.min(fieldWidth, width - line.length());
+                    int value = random.nextInt(2 * length / 3 + 1);
+                    for (int i = 0; i < length; i++) {
+                        line.append(i < value ? (char) ('a' + random.nextInt(26)) : ' ');
+                    }
+                }
+                writer.append(line).append('\n');
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(data);
+    }
+
+    @Benchmark
+    public long readAndTrim() throws IOException {
+        long[] nonBlank = {0};
+        reader.read(data, (line, lineNo, byteOffset) -> {
+            ByteSlice slice = (ByteSlice) line;
+            int offset = slice.offset();
+            for (int from = 0; from < slice.length(); from += fieldWidth) {
+                int to = Math.min(from + fieldWidth, slice.length());
+                int start = scanner.skipLeadingBlanks(slice.buffer(), offset + from, offset + to);
+                nonBlank[0] += scanner.skipTrailingBlanks(slice.buffer(), start, offset + to) - start;
+            }
+        });
+        return nonBlank[0];
+    }
+}
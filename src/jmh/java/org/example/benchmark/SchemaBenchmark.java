@@ -0,0 +1,50 @@
+package org.example.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.example.Generator;
+import org.example.exceptions.SchemaValidationException;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures reading a schema file with Generator.parseSchemaFile and splitting a single schema line with Generator.splitLine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchemaBenchmark {
+    @Param({"4", "64"})
+    int columns;
+
+    Generator generator;
+    Path schema;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        generator = new Generator();
+        schema = Files.createTempFile("schema-benchmark", ".schema");
+        SyntheticData.writeSchema(schema, SyntheticData.columns(columns, 16));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(schema);
+    }
+
+    @Benchmark
+    public Object parseSchemaFile() throws IOException, SchemaValidationException {
+        return generator.parseSchemaFile(schema.toString());
+    }
+
+    @Benchmark
+    public List<String> splitLine() {
+        return generator.splitLine("daily transaction limit 117 132 int");
+    }
+}
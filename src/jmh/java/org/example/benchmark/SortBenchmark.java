@@ -0,0 +1,68 @@
+package org.example.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.example.Column;
+import org.example.CompiledSchema;
+import org.example.SchemaCompiler;
+import org.example.runtime.RecordParser;
+import org.example.runtime.SortKey;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares sorting a file by an int column with forEachSorted, under a memory budget smaller than the file so that runs are
+ * spilled and merged, and by parsing the whole file into a List and sorting the Records.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SortBenchmark {
+    @Param({"1000000"})
+    int rows;
+
+    @Param({"16777216"})
+    long memoryBudget;
+
+    RecordParser<Object> parser;
+    Function<Object, Object> keyOf;
+    List<SortKey> keys;
+    Path data;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Column> cols = SyntheticData.columns(8, 16);
+        CompiledSchema schema = new SchemaCompiler().compile(cols);
+        parser = schema.newParser();
+        keyOf = schema.accessor("col3");
+        keys = List.of(SortKey.number(parser.column("col3")));
+        data = Files.createTempFile("sort-benchmark", ".txt");
+        SyntheticData.writeData(data, cols, rows, 0.0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(data);
+    }
+
+    @Benchmark
+    public void forEachSorted(Blackhole blackhole) throws IOException {
+        parser.forEachSorted(data.toString(), keys, memoryBudget, blackhole::consume);
+    }
+
+    @Benchmark
+    public void parseFileAndSort(Blackhole blackhole) throws IOException {
+        List<Object> records = parser.parseFile(data.toString());
+        records.sort(Comparator.comparing(record -> (Integer) keyOf.apply(record)));
+        records.forEach(blackhole::consume);
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.example.Column;
+import org.example.ColumnType;
+
+/**
+ * Generates schemas and fixed-width data files for the benchmarks. The output only depends on the arguments and the
+ * seed, so results are reproducible across runs and machines.
+ */
+public final class SyntheticData {
+    public static final long SEED = 42;
+
+    private SyntheticData() {
+    }
+
+    /**
+     * Returns count adjacent columns of the given width. Every fourth column is an int column, the others are strings.
+     */
+    public static List<Column> columns(int count, int width) {
+        List<Column> cols = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ColumnType type = i % 4 == 3 ? ColumnType.INT : ColumnType.STRING;
+            cols.add(new Column("col" + i, i * width + 1, (i + 1) * width, type));
+        }
+        return cols;
+    }
+
+    /**
+     * Writes the columns in the schema file format read by Generator.parseSchemaFile.
+     */
+    public static void writeSchema(Path file, List<Column> cols) throws IOException {
+        List<String> lines = new ArrayList<>(cols.size());
+        for (Column col : cols) {
+            lines.add(col.getColumnName() + " " + col.getStartIndex() + " " + col.getEndIndex() + " " + col.getType().getKeyword());
+        }
+        Files.write(file, lines, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Writes rows records following the columns. A fraction invalidRatio of them is one character short, so that the
+     * parsers reject them.
+     */
+    public static void writeData(Path file, List<Column> cols, int rows, double invalidRatio) throws IOException {
+        SplittableRandom random = new SplittableRandom(SEED);
+        int recordLength = cols.getLast().getEndIndex();
+        char[] line = new char[recordLength];
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.ISO_8859_1)) {
+            for (int r = 0; r < rows; r++) {
+                java.util.Arrays.fill(line, ' ');
+                for (Column col : cols) {
+                    fill(line, col, random);
+                }
+                int length = random.nextDouble() < invalidRatio ? recordLength - 1 : recordLength;
+                writer.write(line, 0, length);
+                writer.write('\n');
+            }
+        }
+    }
+
+    private static void fill(char[] line, Column col, SplittableRandom random) {
+        int from = col.getStartIndex() - 1;
+        int width = col.getEndIndex() - from;
+        if (col.getType() == ColumnType.INT) {
+            // Right-aligned digits, at most 9 so that the value fits in an int
+            int digits = 1 + random.nextInt(Math.min(width, 9));
+            for (int i = 0; i < digits; i++) {
+                line[from + width - 1 - i] = (char) ('0' + random.nextInt(10));
+            }
+        } else {
+            // Left-aligned letters, padded with spaces
+            int letters = 1 + random.nextInt(width);
+            for (int i = 0; i < letters; i++) {
+                line[from + i] = (char) ('a' + random.nextInt(26));
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.example.Column;
+import org.example.CompiledSchema;
+import org.example.SchemaCompiler;
+import org.example.runtime.RecordWriter;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the time to write the Records of a synthetic file with the generated FixedLengthWriter, compared to writing
+ * their toString through a BufferedWriter, which was the only way to output Records before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WriteBenchmark {
+    @Param({"4", "16"})
+    int columns;
+
+    @Param({"100000"})
+    int rows;
+
+    CompiledSchema schema;
+    List<Object> records;
+    Path output;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Column> cols = SyntheticData.columns(columns, 16);
+        schema = new SchemaCompiler().compile(cols);
+        Path data = Files.createTempFile("write-benchmark", ".txt");
+        SyntheticData.writeData(data, cols, rows, 0.0);
+        records = schema.newParser().parseFile(data.toString());
+        Files.delete(data);
+        output = Files.createTempFile("write-benchmark", ".out");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(output);
+    }
+
+    @Benchmark
+    public long writer() throws IOException {
+        try (RecordWriter<Object> writer = schema.newWriter(output.toString())) {
+            writer.writeAll(records);
+            return writer.getRecordsWritten();
+        }
+    }
+
+    @Benchmark
+    public long toStringLines() throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(output)) {
+            for (Object record : records) {
+                writer.write(record.toString());
+                writer.newLine();
+            }
+        }
+        return records.size();
+    }
+}
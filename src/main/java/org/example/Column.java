@@ -4,14 +4,21 @@ public class Column {
     private String columnName;
     private int startIndex;
     private int endIndex;
+    private ColumnType type;
+    private boolean dictionary;
 
     /**
      * Constructor
      */
     public Column(String columnName, int startIndex, int endIndex) {
+        this(columnName, startIndex, endIndex, ColumnType.STRING);
+    }
+
+    public Column(String columnName, int startIndex, int endIndex, ColumnType type) {
         this.columnName = columnName;
         this.startIndex = startIndex;
         this.endIndex = endIndex;
+        this.type = type;
     }
 
     /**
@@ -41,6 +48,32 @@ public class Column {
         this.endIndex = endIndex;
     }
 
+    public ColumnType getType() {
+        return type;
+    }
+
+    public void setType(ColumnType type) {
+        this.type = type;
+    }
+
+    /**
+     * Returns whether the values of the column are interned through a ByteDictionary, as declared with the "dict" option.
+     */
+    public boolean isDictionary() {
+        return dictionary;
+    }
+
+    public void setDictionary(boolean dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Returns the columnName with its first letter in upper case, as used in the names of the generated getters.
+     */
+    public String getCapitalizedName() {
+        return Character.toUpperCase(columnName.charAt(0)) + columnName.substring(1);
+    }
+
     /**
      * toString()
      */
@@ -50,6 +83,8 @@ public class Column {
                 "columnName='" + columnName + '\'' +
                 ", startIndex=" + startIndex +
                 ", endIndex=" + endIndex +
+                ", type=" + type +
+                (dictionary ? ", dictionary=true" : "") +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package org.example;
+
+/**
+ * Enumeration of the types a Column can be declared with in the schema file.
+ * Each type knows the Java type of the generated Record field and the org.example.runtime.Fields method
+ * that the generated parser uses to convert the raw characters of the column into that type, as well as the
+ * value the field takes when the column is left out of the projection of the parser.
+ */
+public enum ColumnType {
+    STRING("string", "String", "trimmed", "null"),
+    INT("int", "int", "parseInt", "0"),
+    LONG("long", "long", "parseLong", "0L"),
+    DECIMAL("decimal", "java.math.BigDecimal", "parseDecimal", "null"),
+    DATE("date", "java.time.LocalDate", "parseDate", "null"),
+    CHAR("char", "char", "parseChar", "'\\0'");
+
+    private final String keyword;
+    private final String javaType;
+    private final String extractor;
+    private final String defaultValue;
+
+    /**
+     * Constructor
+     */
+    ColumnType(String keyword, String javaType, String extractor, String defaultValue) {
+        this.keyword = keyword;
+        this.javaType = javaType;
+        this.extractor = extractor;
+        this.defaultValue = defaultValue;
+    }
+
+    /**
+     * Getters
+     */
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public String getJavaType() {
+        return javaType;
+    }
+
+    public String getExtractor() {
+        return extractor;
+    }
+
+    public String getDefaultValue() {
+        return defaultValue;
+    }
+
+    /**
+     * Returns the keyword with its first letter in upper case, e.g. "Int" for the ColumnBatch.putInt method.
+     */
+    public String getCapitalizedKeyword() {
+        return Character.toUpperCase(keyword.charAt(0)) + keyword.substring(1);
+    }
+
+    /**
+     * Returns the ColumnType declared with the given keyword in the schema file, or null if there is none.
+     */
+    public static ColumnType fromKeyword(String keyword) {
+        for (ColumnType type : values()) {
+            if (type.keyword.equals(keyword)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,126 @@
+package org.example;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.example.runtime.RecordParser;
+import org.example.runtime.RecordWriter;
+
+/**
+ * The Record, FixedLengthParser and FixedLengthWriter classes generated for a schema and loaded at runtime by SchemaCompiler.
+ * Each CompiledSchema lives in its own package and class loader, so several of them can be used side by side.
+ */
+public class CompiledSchema {
+    private final List<Column> cols;
+    private final String packageName;
+    private final Class<?> recordClass;
+    private final Class<?> parserClass;
+    private final Class<?> writerClass;
+    private final Map<String, byte[]> classFiles;
+
+    /**
+     * Constructor
+     */
+    public CompiledSchema(List<Column> cols, String packageName, Class<?> recordClass, Class<?> parserClass, Class<?> writerClass,
+                          Map<String, byte[]> classFiles) {
+        this.cols = List.copyOf(cols);
+        this.packageName = packageName;
+        this.recordClass = recordClass;
+        this.parserClass = parserClass;
+        this.writerClass = writerClass;
+        this.classFiles = Collections.unmodifiableMap(classFiles);
+    }
+
+    /**
+     * Getters
+     */
+    public List<Column> getCols() {
+        return cols;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public Class<?> getRecordClass() {
+        return recordClass;
+    }
+
+    public Class<?> getParserClass() {
+        return parserClass;
+    }
+
+    public Class<?> getWriterClass() {
+        return writerClass;
+    }
+
+    /**
+     * Returns the bytecode of every generated class, keyed by binary class name.
+     */
+    public Map<String, byte[]> getClassFiles() {
+        return classFiles;
+    }
+
+    /**
+     * Creates a new instance of the generated FixedLengthParser.
+     */
+    @SuppressWarnings("unchecked")
+    public RecordParser<Object> newParser() {
+        try {
+            return (RecordParser<Object>) parserClass.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instantiate " + parserClass.getName(), e);
+        }
+    }
+
+    /**
+     * Creates a new instance of the generated FixedLengthWriter, creating or truncating the file.
+     *
+     * @throws IOException if the file cannot be opened for writing.
+     */
+    @SuppressWarnings("unchecked")
+    public RecordWriter<Object> newWriter(String filePath) throws IOException {
+        try {
+            return (RecordWriter<Object>) writerClass.getConstructor(String.class).newInstance(filePath);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Cannot instantiate " + writerClass.getName(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instantiate " + writerClass.getName(), e);
+        }
+    }
+
+    /**
+     * Returns a function that reads the value of the given column out of a Record created by this schema.
+     *
+     * @param columnName the name of the column, as returned by Column.getColumnName().
+     * @throws IllegalArgumentException if the schema has no such column.
+     */
+    public Function<Object, Object> accessor(String columnName) {
+        Column col = cols.stream()
+                .filter(c -> c.getColumnName().equals(columnName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown column '" + columnName + "' in " + recordClass.getName()));
+
+        Method getter;
+        try {
+            getter = recordClass.getMethod("get" + col.getCapitalizedName());
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Missing getter for column '" + columnName + "' in " + recordClass.getName(), e);
+        }
+        return record -> {
+            try {
+                return getter.invoke(record);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Cannot read column '" + columnName + "' of " + record, e);
+            }
+        };
+    }
+}
@@ -1,37 +1,784 @@
 package org.example;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
 
-public class FixedLengthParser {
+import org.example.runtime.ByteDictionary;
+import org.example.runtime.ByteSlice;
+import org.example.runtime.Checkpoint;
+import org.example.runtime.CheckpointHandler;
+import org.example.runtime.ColumnBatch;
+import org.example.runtime.ColumnarCache;
+import org.example.runtime.ExternalSorter;
+import org.example.runtime.Fields;
+import org.example.runtime.FileFollower;
+import org.example.runtime.KeyIndex;
+import org.example.runtime.Leniency;
+import org.example.runtime.LineFitter;
+import org.example.runtime.InputCodec;
+import org.example.runtime.InputCodecs;
+import org.example.runtime.LineHandler;
+import org.example.runtime.MappedLineReader;
+import org.example.runtime.ParallelLineReader;
+import org.example.runtime.ParseListener;
+import org.example.runtime.RawColumn;
+import org.example.runtime.RawFilter;
+import org.example.runtime.RecordCursor;
+import org.example.runtime.RecordParser;
+import org.example.runtime.RejectReason;
+import org.example.runtime.RejectSink;
+import org.example.runtime.RejectSinks;
+import org.example.runtime.SortKey;
+
+public class FixedLengthParser implements RecordParser<Record> {
+    public static final int RECORD_LENGTH = 25;
+    public static final List<String> COLUMN_NAMES = List.of("name", "gender", "age");
+    public static final List<RawColumn> COLUMNS = List.of(
+            new RawColumn("name", 0, 20),
+            new RawColumn("gender", 19, 21),
+            new RawColumn("age", 21, 25)
+    );
+    public static final String SCHEMA_FINGERPRINT = "2e21b99914015ef316db8247f2f816bdf16fa7c5f5362223017aa1d7e694da24";
+
+    private ParseListener listener = ParseListener.NONE;
+    private boolean timeColumns;
+    private RejectSink rejectSink = RejectSinks.console();
+    private final boolean[] projected = new boolean[COLUMN_NAMES.size()];
+    private RawFilter filter = RawFilter.ALL;
+    private List<InputCodec> inputCodecs = InputCodecs.DEFAULT;
+    private Set<Leniency> leniency = EnumSet.noneOf(Leniency.class);
+    private ThreadLocal<LineFitter> lineFitters;
+
+    /**
+     * Constructor
+     */
+    public FixedLengthParser() {
+        Arrays.fill(projected, true);
+    }
+
+    /**
+     * Sets the listener notified of the progress of every parse, e.g. a ParseMetrics.
+     */
+    @Override
+    public void setParseListener(ParseListener listener) {
+        if (listener != null) {
+            listener.onAttached(COLUMN_NAMES);
+        }
+        this.listener = listener == null ? ParseListener.NONE : listener;
+        this.timeColumns = this.listener.isColumnTimingEnabled();
+    }
+
+    /**
+     * Sets where the lines that do not follow the schema are reported. Defaults to RejectSinks.console().
+     * The sink is flushed at the end of every file, but it is not closed by the parser.
+     */
+    @Override
+    public void setRejectSink(RejectSink rejectSink) {
+        this.rejectSink = Objects.requireNonNull(rejectSink);
+    }
+
+    /**
+     * Restricts the columns extracted from every line to the given ones, or to all of them if columnNames is null.
+     * The fields of the other columns are left to null, 0 or '\0' in the Records, and are not checked against their
+     * column type, so a line is only rejected for its length or for the projected columns.
+     *
+     * @throws IllegalArgumentException if one of the names is not a column of the schema.
+     */
+    @Override
+    public void setProjection(Collection<String> columnNames) {
+        boolean[] selection = new boolean[COLUMN_NAMES.size()];
+        if (columnNames == null) {
+            Arrays.fill(selection, true);
+        } else {
+            for (String columnName : columnNames) {
+                selection[indexOf(columnName)] = true;
+            }
+        }
+        System.arraycopy(selection, 0, projected, 0, selection.length);
+    }
+
+    /**
+     * Returns the position of the column, to build RawFilters on it.
+     *
+     * @throws IllegalArgumentException if the name is not a column of the schema.
+     */
+    @Override
+    public RawColumn column(String columnName) {
+        return COLUMNS.get(indexOf(columnName));
+    }
+
+    /**
+     * Skips the lines that do not match the filter, before any of their fields is converted. Null removes the filter.
+     */
+    @Override
+    public void setFilter(RawFilter filter) {
+        this.filter = filter == null ? RawFilter.ALL : filter;
+    }
+
+    /**
+     * Sets the compression formats that parseFile, forEach and stream recognize and decompress on the fly. Defaults to
+     * InputCodecs.DEFAULT, i.e. gzip; an empty list reads every file as it is. The other entry points map or seek into
+     * the file, so they only accept uncompressed files.
+     */
+    @Override
+    public void setInputCodecs(List<InputCodec> inputCodecs) {
+        this.inputCodecs = List.copyOf(inputCodecs);
+    }
+
+    /**
+     * Sets the lines without the exact length of a record that are fitted to it instead of being rejected, see Leniency.
+     * Defaults to none, which null restores as well. Fitted lines are seen padded or truncated by the filter, the rejects
+     * of their fields and the ParseListener. buildIndex and lookup only ever index the lines that have the exact length
+     * of a record.
+     */
+    @Override
+    public void setLeniency(Set<Leniency> leniency) {
+        Set<Leniency> modes = leniency == null || leniency.isEmpty() ? EnumSet.noneOf(Leniency.class) : EnumSet.copyOf(leniency);
+        this.leniency = modes;
+        this.lineFitters = modes.isEmpty() ? null : ThreadLocal.withInitial(() -> new LineFitter(RECORD_LENGTH, COLUMNS, modes));
+    }
+
+    @Override
     public List<Record> parseFile(String filePath) throws IOException {
         List<Record> records = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
+        forEach(filePath, records::add);
+        return records;
+    }
+
+    /**
+     * Parses the file line by line and hands each Record to the consumer as soon as it is built,
+     * so memory usage stays constant regardless of the file size. A compressed file is decompressed on a separate
+     * thread while its lines are parsed.
+     */
+    @Override
+    public void forEach(String filePath, Consumer<? super Record> consumer) throws IOException {
+        long start = fileStarted(filePath);
+        try (BufferedReader reader = openReader(filePath)) {
             String line;
+            long lineNo = 0;
             while ((line = reader.readLine()) != null) {
-                if (line.length() != 25) {
-                    // Handle lines with unexpected length
-                    System.out.println("Data '" + line + "' is not parsed as it does not follow the schema.");
-                    continue;
+                Record record = parseLine(line, ++lineNo, -1);
+                if (record != null) {
+                    consumer.accept(record);
                 }
+            }
+        } finally {
+            fileEnded(filePath, start);
+        }
+    }
+
+    /**
+     * Returns a lazily populated stream of Records. Lines are only read and parsed when the stream pulls them,
+     * and the underlying reader is closed when the stream is closed, so use it in a try-with-resources block.
+     */
+    @Override
+    public Stream<Record> stream(String filePath) throws IOException {
+        BufferedReader reader = openReader(filePath);
+        long start = fileStarted(filePath);
+        long[] lineNo = {0};
+        return reader.lines()
+                .map(line -> parseLine(line, ++lineNo[0], -1))
+                .filter(Objects::nonNull)
+                .onClose(() -> {
+                    try {
+                        try {
+                            reader.close();
+                        } finally {
+                            fileEnded(filePath, start);
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
 
-                // Extract fields based on fixed positions
-                String name = extractField(line, 1, 20).trim();
-                String gender = extractField(line, 20, 21).trim();
-                String age = extractField(line, 22, 25).trim();
+    /**
+     * Same as forEach, but reads the file through memory-mapped windows and extracts the fields straight from the
+     * mapped bytes, so no String is allocated for the line itself. The file must use a single-byte encoding.
+     */
+    @Override
+    public void forEachMapped(String filePath, Consumer<? super Record> consumer) throws IOException {
+        long start = fileStarted(filePath);
+        try {
+            new MappedLineReader().read(Path.of(filePath), lineHandler(consumer));
+        } finally {
+            fileEnded(filePath, start);
+        }
+    }
+
+    /**
+     * Parses the file concurrently on the common fork-join pool and returns the Records in file order.
+     */
+    @Override
+    public List<Record> parseFileParallel(String filePath) throws IOException {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        return parseFileParallel(filePath, pool, pool.getParallelism() * 4);
+    }
+
+    /**
+     * Splits the file into chunks at record boundaries, parses the chunks concurrently on the executor
+     * and returns the Records in file order.
+     */
+    @Override
+    public List<Record> parseFileParallel(String filePath, ExecutorService executor, int chunks) throws IOException {
+        long start = fileStarted(filePath);
+        List<List<Record>> parts;
+        try {
+            parts = new ParallelLineReader(executor, chunks).run(Path.of(filePath), RECORD_LENGTH, (channel, from, to) -> {
+                List<Record> part = new ArrayList<>();
+                readChunk(channel, from, to, part::add);
+                return part;
+            });
+        } finally {
+            fileEnded(filePath, start);
+        }
 
-                // Create a new Record object
-                Record record = new Record(name, gender, age);
-                records.add(record);
+        List<Record> records = new ArrayList<>(parts.stream().mapToInt(List::size).sum());
+        parts.forEach(records::addAll);
+        return records;
+    }
+
+    /**
+     * Unordered fast path of parseFileParallel: Records are handed to the consumer from several threads as soon as
+     * they are parsed, without being buffered. The consumer must be thread-safe.
+     */
+    @Override
+    public void forEachParallel(String filePath, ExecutorService executor, int chunks, Consumer<? super Record> consumer) throws IOException {
+        long start = fileStarted(filePath);
+        try {
+            new ParallelLineReader(executor, chunks).run(Path.of(filePath), RECORD_LENGTH, (channel, from, to) -> {
+                readChunk(channel, from, to, consumer);
+                return null;
+            });
+        } finally {
+            fileEnded(filePath, start);
+        }
+    }
+
+    /**
+     * Returns an empty ColumnBatch with one column per column of the schema.
+     */
+    @Override
+    public ColumnBatch newBatch(int capacity) {
+        return new ColumnBatch(COLUMN_NAMES, List.of(ColumnBatch.Kind.STRING, ColumnBatch.Kind.STRING, ColumnBatch.Kind.STRING), capacity);
+    }
+
+    /**
+     * Columnar alternative of forEachMapped: the lines are parsed into a ColumnBatch of batchSize rows, which is handed
+     * to the consumer every time it is full, and once more at the end of the file if it is not empty. No object is
+     * allocated per line except for the decimal values; the same batch is reused for every chunk.
+     */
+    @Override
+    public void forEachBatch(String filePath, int batchSize, Consumer<? super ColumnBatch> consumer) throws IOException {
+        long start = fileStarted(filePath);
+        try {
+            ColumnBatch batch = newBatch(batchSize);
+            new MappedLineReader().read(Path.of(filePath), (line, lineNo, byteOffset) -> {
+                if (parseLine(line, lineNo, byteOffset, batch) && batch.isFull()) {
+                    consumer.accept(batch);
+                    batch.clear();
+                }
+            });
+            if (batch.size() > 0) {
+                consumer.accept(batch);
             }
+        } finally {
+            fileEnded(filePath, start);
+        }
+    }
+
+    /**
+     * Parses the file into a ColumnarCache at cachePath, with every column of every line that has the length of a
+     * record or is fitted to it, whatever the projection and the filter of this parser. Lines that cannot be converted
+     * are rejected as usual.
+     */
+    @Override
+    public void writeColumnarCache(String filePath, String cachePath, int batchSize) throws IOException {
+        FixedLengthParser all = new FixedLengthParser();
+        all.setParseListener(listener);
+        all.setRejectSink(rejectSink);
+        all.setLeniency(leniency);
+        ColumnarCache cache = new ColumnarCache(Path.of(cachePath));
+        try (ColumnarCache.Writer writer = cache.create(Path.of(filePath), cacheFingerprint(), newBatch(batchSize))) {
+            all.forEachBatch(filePath, batchSize, batch -> {
+                try {
+                    writer.append(batch);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.commit();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Same as forEachBatch, but maps the batches from the ColumnarCache at cachePath, which is written first if it does
+     * not exist or is stale, i.e. if the file, the schema or the leniency changed since, or if it was written with
+     * another batchSize.
+     * Only the projected columns are read from the cache. The filter does not apply to cached batches, as the cache
+     * holds no text, and the ParseListener is only notified while the cache is written.
+     */
+    @Override
+    public void forEachBatchCached(String filePath, String cachePath, int batchSize, Consumer<? super ColumnBatch> consumer) throws IOException {
+        ColumnBatch batch = newBatch(batchSize);
+        ColumnarCache cache = new ColumnarCache(Path.of(cachePath));
+        if (!cache.isValid(Path.of(filePath), cacheFingerprint(), batch)) {
+            writeColumnarCache(filePath, cachePath, batchSize);
+        }
+        cache.read(batch, projected.clone(), consumer);
+    }
+
+    /**
+     * Builds the KeyIndex at indexPath on the column, replacing it if it exists.
+     *
+     * @return the number of lines indexed, i.e. every line that has the length of a record.
+     * @throws IllegalArgumentException if the name is not a column of the schema.
+     */
+    @Override
+    public long buildIndex(String filePath, String columnName, String indexPath) throws IOException {
+        return new KeyIndex(Path.of(indexPath)).build(Path.of(filePath), SCHEMA_FINGERPRINT, column(columnName), RECORD_LENGTH);
+    }
+
+    /**
+     * Returns the Records whose column equals the key once trimmed, in file order, reading only their lines through
+     * the KeyIndex at indexPath. The index is built first if it does not exist or is stale, i.e. if the file or the
+     * schema changed since, or if it indexes another column. The projection and the filter apply as in parseFile.
+     *
+     * @throws IllegalArgumentException if the name is not a column of the schema.
+     */
+    @Override
+    public List<Record> lookup(String filePath, String columnName, String indexPath, CharSequence key) throws IOException {
+        Path source = Path.of(filePath);
+        RawColumn keyColumn = column(columnName);
+        KeyIndex index = new KeyIndex(Path.of(indexPath));
+        if (!index.isValid(source, SCHEMA_FINGERPRINT, keyColumn)) {
+            index.build(source, SCHEMA_FINGERPRINT, keyColumn, RECORD_LENGTH);
+        }
+        List<Record> records = new ArrayList<>();
+        long start = fileStarted(filePath);
+        try {
+            index.lookup(source, keyColumn, RECORD_LENGTH, key, (line, lineNo, byteOffset) -> {
+                Record record = parseLine(line, lineNo, byteOffset);
+                if (record != null) {
+                    records.add(record);
+                }
+            });
+        } finally {
+            fileEnded(filePath, start);
         }
         return records;
     }
 
-    private String extractField(String line, int start, int end) {
-        return line.substring(start - 1, end);
+    /**
+     * Hands the Records to the consumer sorted by the keys, e.g. SortKey.text(column("name")). The lines are sorted as
+     * raw bytes by an ExternalSorter, which holds at most memoryBudget bytes and spills sorted runs to temporary files
+     * beyond, and are only converted into Records once merged. Records with equal keys keep the order of the file.
+     */
+    @Override
+    public void forEachSorted(String filePath, List<SortKey> keys, long memoryBudget, Consumer<? super Record> consumer) throws IOException {
+        long start = fileStarted(filePath);
+        try (ExternalSorter sorter = sort(filePath, keys, memoryBudget)) {
+            sorter.sorted((line, lineNo, byteOffset) -> {
+                Record record = convert(line, lineNo, byteOffset);
+                if (record != null) {
+                    consumer.accept(record);
+                }
+            });
+        } finally {
+            fileEnded(filePath, start);
+        }
+    }
+
+    /**
+     * Groups the Records by the keys, sorting the file as forEachSorted does, and reduces every group with the
+     * collector, e.g. Collectors.counting(). The trimmed values of the keys and the result of every group are handed
+     * to the consumer in the order of the keys; only the accumulator of the current group is held in memory.
+     */
+    @Override
+    public <A, T> void aggregate(String filePath, List<SortKey> keys, long memoryBudget, Collector<? super Record, A, T> collector,
+                                 BiConsumer<? super List<String>, ? super T> consumer) throws IOException {
+        long start = fileStarted(filePath);
+        try (ExternalSorter sorter = sort(filePath, keys, memoryBudget)) {
+            sorter.aggregate(this::convert, collector, consumer);
+        } finally {
+            fileEnded(filePath, start);
+        }
+    }
+
+    /**
+     * Allocation-free alternative of forEachMapped: a single Cursor is repositioned over every line that has, or is
+     * fitted to, the length of a record and matches the filter, and handed to the consumer. Fields are only converted when read from the
+     * cursor, which is a FixedLengthParser.Cursor and can be cast to it for the accessors named after the columns.
+     */
+    @Override
+    public void forEachCursor(String filePath, Consumer<? super RecordCursor<Record>> consumer) throws IOException {
+        long start = fileStarted(filePath);
+        try {
+            Cursor cursor = new Cursor();
+            new MappedLineReader().read(Path.of(filePath), (line, lineNo, byteOffset) -> {
+                CharSequence record = accept(line, lineNo, byteOffset);
+                if (record != null) {
+                    cursor.moveTo((ByteSlice) record, lineNo, byteOffset);
+                    listener.onRecord(record.length() + 1);
+                    consumer.accept(cursor);
+                }
+            });
+        } finally {
+            fileEnded(filePath, start);
+        }
+    }
+
+    /**
+     * Parses the lines appended to the file of the follower, from its committed offset, and hands each Record to the
+     * consumer as soon as its line is complete. Blocks until the follower is closed from another thread or the calling
+     * thread is interrupted; the offset of the follower can then be saved to resume later. The RejectSink is flushed
+     * after every batch of lines read.
+     */
+    @Override
+    public void follow(FileFollower follower, Consumer<? super Record> consumer) throws IOException {
+        String filePath = follower.file().toString();
+        long start = fileStarted(filePath);
+        try {
+            follower.follow(lineHandler(consumer), rejectSink::flush);
+        } finally {
+            fileEnded(filePath, start);
+        }
+    }
+
+    /**
+     * Same as forEachMapped, resuming from a Checkpoint and reaching a new one every interval lines and at the end of
+     * the file. At each Checkpoint, the reject sink is flushed and onCheckpoint is called, where the consumer commits
+     * its output together with the Checkpoint, e.g. through CheckpointStore.save; see CheckpointHandler for the
+     * exactly-once guarantees.
+     *
+     * @param from the Checkpoint to resume from, e.g. CheckpointStore.load(), or Checkpoint.START.
+     * @return the Checkpoint at the end of the file.
+     */
+    @Override
+    public Checkpoint forEachCheckpointed(String filePath, Checkpoint from, long interval, Consumer<? super Record> consumer,
+                                          CheckpointHandler onCheckpoint) throws IOException {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval must be positive: " + interval);
+        }
+        long start = fileStarted(filePath);
+        try {
+            // Records, rejects, lines since the last checkpoint and number of the next line
+            long[] counts = {from.getRecords(), from.getRejects(), 0, from.getLineNo()};
+            long end = new MappedLineReader().read(Path.of(filePath), from.getOffset(), Long.MAX_VALUE, from.getLineNo(), (line, lineNo, byteOffset) -> {
+                if (counts[2] == interval) {
+                    checkpoint(new Checkpoint(byteOffset, lineNo, counts[0], counts[1]), onCheckpoint);
+                    counts[2] = 0;
+                }
+                counts[2]++;
+                counts[3] = lineNo + 1;
+
+                Record record = parseLine(line, lineNo, byteOffset);
+                if (record != null) {
+                    counts[0]++;
+                    consumer.accept(record);
+                } else {
+                    CharSequence fitted = fit(line);
+                    if (fitted == null || filter.test(fitted)) {
+                        // Not skipped by the filter, so it was rejected
+                        counts[1]++;
+                    }
+                }
+            });
+
+            Checkpoint last = new Checkpoint(end, counts[3], counts[0], counts[1]);
+            checkpoint(last, onCheckpoint);
+            return last;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            fileEnded(filePath, start);
+        }
+    }
+
+    private void checkpoint(Checkpoint checkpoint, CheckpointHandler onCheckpoint) {
+        try {
+            rejectSink.flush();
+            onCheckpoint.onCheckpoint(checkpoint);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void readChunk(FileChannel channel, long from, long to, Consumer<? super Record> consumer) throws IOException {
+        // The number of the first line of a chunk is not known without reading the file up to it, so it is reported as 0
+        new MappedLineReader().read(channel, from, to, 0, lineHandler(consumer));
+    }
+
+    private LineHandler lineHandler(Consumer<? super Record> consumer) {
+        return (line, lineNo, byteOffset) -> {
+            Record record = parseLine(line, lineNo, byteOffset);
+            if (record != null) {
+                consumer.accept(record);
+            }
+        };
+    }
+
+    private static int indexOf(String columnName) {
+        int index = COLUMN_NAMES.indexOf(columnName);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown column '" + columnName + "', expected one of " + COLUMN_NAMES);
+        }
+        return index;
+    }
+
+    /**
+     * Adds every line of the file accepted by accept to a new ExternalSorter, rejecting the lines of which a number key
+     * cannot be converted.
+     */
+    private ExternalSorter sort(String filePath, List<SortKey> keys, long memoryBudget) throws IOException {
+        ExternalSorter sorter = new ExternalSorter(keys, RECORD_LENGTH, memoryBudget, null);
+        try {
+            new MappedLineReader().read(Path.of(filePath), (line, lineNo, byteOffset) -> {
+                CharSequence record = accept(line, lineNo, byteOffset);
+                if (record == null) {
+                    return;
+                }
+                try {
+                    sorter.add(record, lineNo, byteOffset);
+                } catch (IllegalArgumentException e) {
+                    reject(line, lineNo, byteOffset, RejectReason.CONVERSION_ERROR, e.getMessage());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return sorter;
+        } catch (UncheckedIOException e) {
+            sorter.close();
+            throw e.getCause();
+        } catch (IOException | RuntimeException e) {
+            sorter.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the file for reading, decompressing it if it matches one of the inputCodecs.
+     */
+    private BufferedReader openReader(String filePath) throws IOException {
+        return new BufferedReader(new InputStreamReader(InputCodecs.open(Path.of(filePath), inputCodecs)));
+    }
+
+    /**
+     * Returns the fingerprint of the ColumnarCache, which depends on the leniency as it changes the lines cached.
+     */
+    private String cacheFingerprint() {
+        return leniency.isEmpty() ? SCHEMA_FINGERPRINT : SCHEMA_FINGERPRINT + " " + leniency;
+    }
+
+    private long fileStarted(String filePath) {
+        listener.onFileStart(filePath);
+        return System.nanoTime();
+    }
+
+    private void fileEnded(String filePath, long start) throws IOException {
+        try {
+            rejectSink.flush();
+        } finally {
+            listener.onFileEnd(filePath, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Parses a single line. The line number is 0 and the byte offset -1 when they are not known.
+     */
+    private Record parseLine(CharSequence line, long lineNo, long byteOffset) {
+        CharSequence record = accept(line, lineNo, byteOffset);
+        return record != null ? convert(record, lineNo, byteOffset) : null;
+    }
+
+    /**
+     * Converts a line accepted by accept into a Record, rejecting it if a field cannot be converted.
+     */
+    private Record convert(CharSequence line, long lineNo, long byteOffset) {
+        try {
+            Record record = timeColumns ? toRecordTimed(line) : toRecord(line);
+            listener.onRecord(line.length() + 1);
+            return record;
+        } catch (IllegalArgumentException e) {
+            // Handle fields that cannot be converted to their column type
+            reject(line, lineNo, byteOffset, RejectReason.CONVERSION_ERROR, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Same as parseLine, appending the line to the batch instead of building a Record.
+     *
+     * @return whether a row was added to the batch.
+     */
+    private boolean parseLine(CharSequence line, long lineNo, long byteOffset, ColumnBatch batch) {
+        CharSequence record = accept(line, lineNo, byteOffset);
+        if (record == null) {
+            return false;
+        }
+
+        try {
+            toColumns(record, batch);
+            listener.onRecord(record.length() + 1);
+            return true;
+        } catch (IllegalArgumentException e) {
+            // Handle fields that cannot be converted to their column type
+            reject(record, lineNo, byteOffset, RejectReason.CONVERSION_ERROR, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Returns the line fitted to the length of a record if it matches the filter, or null if it is filtered out or
+     * rejected. The fitted line is only valid until the next line.
+     */
+    private CharSequence accept(CharSequence line, long lineNo, long byteOffset) {
+        CharSequence record = fit(line);
+        if (record == null) {
+            // Handle lines with unexpected length
+            reject(line, lineNo, byteOffset, RejectReason.LENGTH_MISMATCH, null);
+            return null;
+        }
+        if (!filter.test(record)) {
+            listener.onFiltered(line.length() + 1);
+            return null;
+        }
+        return record;
+    }
+
+    /**
+     * Returns the line if it has the length of a record, the line fitted to it by the leniency, or null otherwise.
+     */
+    private CharSequence fit(CharSequence line) {
+        if (line.length() == RECORD_LENGTH) {
+            return line;
+        }
+        return lineFitters != null ? lineFitters.get().fit(line) : null;
+    }
+
+    private Record toRecord(CharSequence line) {
+        // Extract the projected fields based on fixed positions, converting them to the column types
+        String name = projected[0] ? Fields.trimmed(line, 0, 20) : null;
+        String gender = projected[1] ? Fields.trimmed(line, 19, 21) : null;
+        String age = projected[2] ? Fields.trimmed(line, 21, 25) : null;
+
+        // Create a new Record object
+        return new Record(name, gender, age);
+    }
+
+    private Record toRecordTimed(CharSequence line) {
+        // Same as toRecord, reporting the time spent on every column to the listener
+        long start = System.nanoTime();
+        String name = null;
+        if (projected[0]) {
+            name = Fields.trimmed(line, 0, 20);
+            start = columnConverted(0, start);
+        }
+        String gender = null;
+        if (projected[1]) {
+            gender = Fields.trimmed(line, 19, 21);
+            start = columnConverted(1, start);
+        }
+        String age = null;
+        if (projected[2]) {
+            age = Fields.trimmed(line, 21, 25);
+            start = columnConverted(2, start);
+        }
+
+        return new Record(name, gender, age);
+    }
+
+    private void toColumns(CharSequence line, ColumnBatch batch) {
+        // Convert the projected fields into the next row, which is only added once every field is converted
+        int row = batch.size();
+        if (projected[0]) {
+            batch.putString(0, row, line, 0, 20);
+        } else {
+            batch.putDefault(0, row);
+        }
+        if (projected[1]) {
+            batch.putString(1, row, line, 19, 21);
+        } else {
+            batch.putDefault(1, row);
+        }
+        if (projected[2]) {
+            batch.putString(2, row, line, 21, 25);
+        } else {
+            batch.putDefault(2, row);
+        }
+        batch.addRow();
+    }
+
+    private long columnConverted(int columnIndex, long start) {
+        long now = System.nanoTime();
+        listener.onColumnConverted(columnIndex, now - start);
+        return now;
+    }
+
+    /**
+     * The RecordCursor of this schema, with one accessor per column. The get...Chars accessors of the string columns
+     * return a view over the line, valid until the cursor moves to the next line.
+     */
+    public final class Cursor extends RecordCursor<Record> {
+        private final ByteSlice nameView = new ByteSlice();
+        private final ByteSlice genderView = new ByteSlice();
+        private final ByteSlice ageView = new ByteSlice();
+
+        private Cursor() {
+            super(COLUMNS);
+        }
+
+        public String getName() {
+            return Fields.trimmed(line(), 0, 20);
+        }
+
+        public CharSequence getNameChars() {
+            return Fields.trimmedView(line(), 0, 20, nameView);
+        }
+
+        public String getGender() {
+            return Fields.trimmed(line(), 19, 21);
+        }
+
+        public CharSequence getGenderChars() {
+            return Fields.trimmedView(line(), 19, 21, genderView);
+        }
+
+        public String getAge() {
+            return Fields.trimmed(line(), 21, 25);
+        }
+
+        public CharSequence getAgeChars() {
+            return Fields.trimmedView(line(), 21, 25, ageView);
+        }
+
+        @Override
+        public Record toRecord() {
+            return new Record(getName(), getGender(), getAge());
+        }
+    }
+
+    private void reject(CharSequence line, long lineNo, long byteOffset, RejectReason reason, String detail) {
+        listener.onReject(reason, line.length() + 1);
+        rejectSink.reject(line, lineNo, byteOffset, reason, detail);
     }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.example.runtime.FieldEncoder;
+import org.example.runtime.RecordWriter;
+
+public class FixedLengthWriter implements RecordWriter<Record> {
+    public static final int RECORD_LENGTH = 25;
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private static final int LINE_LENGTH = RECORD_LENGTH + 1;
+
+    private final FileChannel channel;
+    private final byte[] buffer;
+    private final ByteBuffer output;
+    private int position;
+    private long recordsWritten;
+
+    /**
+     * Constructor, creating or truncating the file.
+     */
+    public FixedLengthWriter(String filePath) throws IOException {
+        this(FileChannel.open(Path.of(filePath), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE),
+                DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructor, writing at the current position of the channel, which is closed with the writer.
+     *
+     * @param batchSize the number of lines buffered before they are written to the channel at once.
+     */
+    public FixedLengthWriter(FileChannel channel, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        this.channel = channel;
+        this.buffer = new byte[LINE_LENGTH * batchSize];
+        this.output = ByteBuffer.wrap(buffer);
+    }
+
+    /**
+     * Appends the Record as a line of RECORD_LENGTH characters followed by '\n'. Text columns are left-aligned and
+     * numeric columns right-aligned, padded with spaces, so that the line is parsed back into an equal Record. Where a
+     * column starts inside the previous one, as allowed by the schema, it is written after the shared characters, which
+     * are read back as part of both columns and must therefore be left blank by the value of the previous one.
+     *
+     * @throws IllegalArgumentException if a value does not fit in its column, or if it reaches into the characters
+     *                                  shared with the next column; nothing is written for the Record then.
+     */
+    @Override
+    public void write(Record record) throws IOException {
+        if (position == buffer.length) {
+            flush();
+        }
+        int offset = position;
+        Arrays.fill(buffer, offset, offset + RECORD_LENGTH, (byte) ' ');
+        FieldEncoder.writeString(buffer, offset + 0, offset + 20, record.getName(), "name");
+        FieldEncoder.requireBlank(buffer, offset + 19, offset + 20, "name", "gender");
+        FieldEncoder.writeString(buffer, offset + 20, offset + 21, record.getGender(), "gender");
+        FieldEncoder.writeString(buffer, offset + 21, offset + 25, record.getAge(), "age");
+        buffer[offset + RECORD_LENGTH] = '\n';
+        position += LINE_LENGTH;
+        recordsWritten++;
+    }
+
+    /**
+     * Writes the buffered lines to the channel.
+     */
+    @Override
+    public void flush() throws IOException {
+        output.clear().limit(position);
+        while (output.hasRemaining()) {
+            channel.write(output);
+        }
+        position = 0;
+    }
+
+    @Override
+    public long getRecordsWritten() {
+        return recordsWritten;
+    }
+
+    /**
+     * Flushes the buffered lines and closes the channel.
+     */
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            flush();
+        }
+    }
+}
@@ -10,12 +10,17 @@ import java.util.regex.Pattern;
 import org.apache.commons.text.CaseUtils;
 import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
-import org.apache.velocity.app.Velocity;
+import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
 
 import org.example.exceptions.SchemaValidationError;
 import org.example.exceptions.SchemaValidationException;
 
 public class Generator {
+    public static final String DEFAULT_PACKAGE = "org.example";
+    public static final String DICTIONARY_OPTION = "dict";
+
     private static final Set<String> RESERVED_KEYWORDS = new HashSet<>(Arrays.asList(
             "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class",
             "const", "continue", "default", "do", "double", "else", "enum", "extends", "final",
@@ -24,26 +29,57 @@ public class Generator {
             "return", "short", "static", "strictfp", "super", "switch", "synchronized", "this",
             "throw", "throws", "transient", "try", "void", "volatile", "while"));
 
+    /**
+     * The Velocity engine and its templates are initialized once, on first use, and shared by all Generator instances.
+     * Templates are loaded from the classpath, so generation works outside of the repository as well,
+     * and merging a Template is thread-safe.
+     */
+    private static final class Templates {
+        static final VelocityEngine ENGINE = createEngine();
+        static final Template RECORD = ENGINE.getTemplate("record.vm", "UTF-8");
+        static final Template FLP = ENGINE.getTemplate("fixedLengthParser.vm", "UTF-8");
+        static final Template FLW = ENGINE.getTemplate("fixedLengthWriter.vm", "UTF-8");
+
+        private static VelocityEngine createEngine() {
+            VelocityEngine engine = new VelocityEngine();
+            engine.setProperty(RuntimeConstants.RESOURCE_LOADERS, "classpath");
+            engine.setProperty("resource.loader.classpath.class", ClasspathResourceLoader.class.getName());
+            engine.setProperty("resource.loader.classpath.cache", true);
+            engine.init();
+            return engine;
+        }
+    }
+
     /**
      * Parses a schema file and convert it into Column object(s).
-     * Each line in the schema file should have the format of "<columnName> <startIndex> <endIndex>" where:
+     * Each line in the schema file should have the format of "<columnName> <startIndex> <endIndex> [type] [dict]" where:
      * - columnName is a non-empty string
      * - followed by a space
      * - followed by startIndex which is a positive integer
      * - followed by a space
      * - followed by endIndex which is a positive integer > startIndex
+     * - optionally followed by a space and the type of the column: int, long, decimal, date, char or string (the default)
+     * - optionally followed by a space and "dict" for a string column with few distinct values, which are then interned
      * The columnName should be a valid variable name in Java and there should not be duplicated columnName in the schema file.
      *
      * An example of a valid schema file:
      *  columnName1 0 1
-     *  columnName2 2 3
+     *  columnName2 2 3 int
+     *  columnName3 4 4 string dict
      *
      * @param filePath path to the schema file.
-     * @return a list of Column objects, each consists (String)columnName, (int)startIndex, and (int)endIndex as specified in the schema file.
+     * @return a list of Column objects, each consists (String)columnName, (int)startIndex, (int)endIndex, and (ColumnType)type as specified in the schema file.
      * @throws IOException if an I/O error occurs while parsing the file.
      * @throws SchemaValidationException if the content in the schema file does not follow valid format.
      */
     public List<Column> parseSchemaFile(String filePath) throws IOException, SchemaValidationException {
+        return parseSchemaFile(filePath, true);
+    }
+
+    /**
+     * Same as parseSchemaFile, printing every parsed column to the standard output only if printColumns is set.
+     */
+    public List<Column> parseSchemaFile(String filePath, boolean printColumns) throws IOException, SchemaValidationException {
         List<Column> cols = new ArrayList<>();
         List<String> names = new ArrayList<>();
         try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
@@ -55,9 +91,24 @@ public class Generator {
                 l++;
 
                 List<String> schema = splitLine(line);
+                boolean dictionary = schema.size() > 3 && schema.getLast().equals(DICTIONARY_OPTION);
+                if (dictionary) {
+                    schema.removeLast();
+                }
+                ColumnType type = ColumnType.STRING;
+                if (schema.size() == 4 && !Character.isDigit(schema.get(3).charAt(0))) {
+                    String keyword = schema.remove(3);
+                    type = ColumnType.fromKeyword(keyword);
+                    if (type == null) {
+                        throw new SchemaValidationException(SchemaValidationError.INVALID_COLUMN_TYPE.getMessage(keyword, l, line));
+                    }
+                }
                 if (schema.size() != 3) {
                     throw new SchemaValidationException(SchemaValidationError.INVALID_SCHEMA_FILE.getMessage(l, line));
                 }
+                if (dictionary && type != ColumnType.STRING) {
+                    throw new SchemaValidationException(SchemaValidationError.INVALID_DICTIONARY_COLUMN.getMessage(schema.get(0), l, line));
+                }
 
                 int start = Integer.parseInt(schema.get(1));
                 if (start < end) {
@@ -88,10 +139,13 @@ public class Generator {
                 }
                 names.add(name);
 
-                Column col = new Column(name, start, end);
+                Column col = new Column(name, start, end, type);
+                col.setDictionary(dictionary);
                 cols.add(col);
 
-                System.out.println(col);
+                if (printColumns) {
+                    System.out.println(col);
+                }
             }
         }
         return cols;
@@ -105,21 +159,26 @@ public class Generator {
      * @throws IOException if an I/O error occurs while writing the Record class to file.
      */
     public void writeRecordClass(List<Column> cols, String dstPath) throws IOException {
-        Velocity.init();
+        writeToJavaFile(renderRecordClass(cols, DEFAULT_PACKAGE), dstPath);
+    }
 
+    /**
+     * Generates the source code of a Record class in the given package, with each Column being a member variable of the Record class.
+     *
+     * @param cols a list of Column objects.
+     * @param packageName the package the Record class is declared in.
+     * @return the source code of the Record class.
+     */
+    public String renderRecordClass(List<Column> cols, String packageName) {
         // Create a context and add data
         VelocityContext context = new VelocityContext();
         context.put("cols", cols);
-
-        // Load the template
-        Template template = Velocity.getTemplate("src/main/resources/record.vm");
+        context.put("packageName", packageName);
 
         // Merge the template with the context
         StringWriter writer = new StringWriter();
-        template.merge(context, writer);
-
-        // Output the result
-        writeToJavaFile(writer.toString(), dstPath);
+        Templates.RECORD.merge(context, writer);
+        return writer.toString();
     }
 
     /**
@@ -131,31 +190,69 @@ public class Generator {
      * @throws IOException if an I/O error occurs while writing the FixedLengthParser class to file.
      */
     public void writeFLPClass(List<Column> cols, String dstPath) throws IOException {
-        Velocity.init();
+        writeToJavaFile(renderFLPClass(cols, DEFAULT_PACKAGE), dstPath);
+    }
 
+    /**
+     * Generates the source code of a FixedLengthParser class in the given package, next to the Record class it returns.
+     *
+     * @param cols a list of Column objects.
+     * @param packageName the package the FixedLengthParser class is declared in.
+     * @return the source code of the FixedLengthParser class.
+     */
+    public String renderFLPClass(List<Column> cols, String packageName) {
         // Create a context and add data
         VelocityContext context = new VelocityContext();
         context.put("cols", cols);
+        context.put("packageName", packageName);
         int lineEnd = cols.getLast().getEndIndex();
         context.put("lineEnd", lineEnd);
-
-        // Load the template
-        Template template = Velocity.getTemplate("src/main/resources/fixedLengthParser.vm");
+        context.put("fingerprint", SchemaRegistry.fingerprint(cols));
 
         // Merge the template with the context
         StringWriter writer = new StringWriter();
-        template.merge(context, writer);
+        Templates.FLP.merge(context, writer);
+        return writer.toString();
+    }
 
-        // Output the result
-        writeToJavaFile(writer.toString(), dstPath);
+    /**
+     * Generates a FixedLengthWriter class in Java, which will be used to write Record objects as lines of a txt file laid out according to the
+     * Column objects passed in, so that the FixedLengthParser of the same columns reads them back.
+     *
+     * @param cols a list of Column objects.
+     * @param dstPath path to the Java file where the FixedLengthWriter class will be written to.
+     * @throws IOException if an I/O error occurs while writing the FixedLengthWriter class to file.
+     */
+    public void writeFLWClass(List<Column> cols, String dstPath) throws IOException {
+        writeToJavaFile(renderFLWClass(cols, DEFAULT_PACKAGE), dstPath);
     }
 
     /**
-     * A wrapper function that calls parseSchemaFile, writeRecordClass, and writeFLPClass,
-     * which results in generating the corresponding Record.java and FixedLengthParser.java according to the schema file passed in.
+     * Generates the source code of a FixedLengthWriter class in the given package, next to the Record class it writes.
+     *
+     * @param cols a list of Column objects.
+     * @param packageName the package the FixedLengthWriter class is declared in.
+     * @return the source code of the FixedLengthWriter class.
+     */
+    public String renderFLWClass(List<Column> cols, String packageName) {
+        // Create a context and add data
+        VelocityContext context = new VelocityContext();
+        context.put("cols", cols);
+        context.put("packageName", packageName);
+        context.put("lineEnd", cols.getLast().getEndIndex());
+
+        // Merge the template with the context
+        StringWriter writer = new StringWriter();
+        Templates.FLW.merge(context, writer);
+        return writer.toString();
+    }
+
+    /**
+     * A wrapper function that calls parseSchemaFile, writeRecordClass, writeFLPClass and writeFLWClass, which results in generating
+     * the corresponding Record.java, FixedLengthParser.java and FixedLengthWriter.java according to the schema file passed in.
      *
      * @param filePath path to the schema file.
-     * @throws IOException if an I/O error occurs while parsing the schema file or writing the Record and FixedLengthParser classes to files.
+     * @throws IOException if an I/O error occurs while parsing the schema file or writing the generated classes to files.
      * @throws SchemaValidationException if the content in the schema file does not follow valid format.
      */
     public void generateRecordAndFLP(String filePath) throws IOException, SchemaValidationException {
@@ -163,29 +260,83 @@ public class Generator {
 
         writeRecordClass(cols, "src/main/java/org/example/Record.java");
         writeFLPClass(cols, "src/main/java/org/example/FixedLengthParser.java");
+        writeFLWClass(cols, "src/main/java/org/example/FixedLengthWriter.java");
+    }
+
+    /**
+     * Generates the Record, FixedLengthParser and FixedLengthWriter classes of many schema files in one pass. The classes of each schema are
+     * written to their own package, named after the schema file (e.g. "FT.schema" becomes "basePackage.ft"),
+     * in the usual directory layout under dstDir.
+     *
+     * @param filePaths paths to the schema files.
+     * @param basePackage the package under which the package of every schema is created.
+     * @param dstDir the source root the Java files are written to.
+     * @return the package of every schema, keyed by schema file path.
+     * @throws IOException if an I/O error occurs while parsing a schema file or writing the Java files.
+     * @throws SchemaValidationException if the content in a schema file does not follow valid format.
+     */
+    public Map<String, String> generateAll(List<String> filePaths, String basePackage, String dstDir) throws IOException, SchemaValidationException {
+        Map<String, String> packages = new LinkedHashMap<>();
+        for (String filePath : filePaths) {
+            String packageName = basePackage + "." + packageNameOf(filePath);
+            if (packages.containsValue(packageName)) {
+                throw new IllegalArgumentException("Schema file '" + filePath + "' maps to the same package as another schema: " + packageName);
+            }
+            packages.put(filePath, packageName);
+        }
+
+        for (Map.Entry<String, String> entry : packages.entrySet()) {
+            List<Column> cols = parseSchemaFile(entry.getKey());
+            var dir = Paths.get(dstDir, entry.getValue().split("\\."));
+            Files.createDirectories(dir);
+
+            writeToJavaFile(renderRecordClass(cols, entry.getValue()), dir.resolve("Record.java").toString());
+            writeToJavaFile(renderFLPClass(cols, entry.getValue()), dir.resolve("FixedLengthParser.java").toString());
+            writeToJavaFile(renderFLWClass(cols, entry.getValue()), dir.resolve("FixedLengthWriter.java").toString());
+        }
+        return packages;
+    }
+
+    private String packageNameOf(String filePath) {
+        String name = Paths.get(filePath).getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        if (dot > 0) {
+            name = name.substring(0, dot);
+        }
+        name = name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9_]", "");
+        if (name.isEmpty() || Character.isDigit(name.charAt(0)) || RESERVED_KEYWORDS.contains(name)) {
+            name = "s" + name;
+        }
+        return name;
     }
 
     /**
-     * Splits a String into three to-be-sanitized tokens, where token 1 = columnName, token 2 = startIndex, token 3 = endIndex.
+     * Splits a String into three to-be-sanitized tokens, where token 1 = columnName, token 2 = startIndex, token 3 = endIndex,
+     * plus one token for each option the line declares after the indexes, i.e. the type of the column and "dict".
      * @param line a line in the schema file.
      * @return a list of String after splitting accordingly.
      */
     public List<String> splitLine(String line) {
         List<String> postSchema = new ArrayList<>();
 
-        Pattern pattern = Pattern.compile("^.*(?<!\\s) \\d+ \\d+$");
+        Pattern pattern = Pattern.compile("^(.*(?<!\\s) \\d+ \\d+)((?: [a-z]+)*)$");
         Matcher matcher = pattern.matcher(line);
         if (!matcher.matches()) {
             return postSchema;
         }
 
-        var preSchema = line.splitWithDelimiters(" \\d+", -1);
+        var preSchema = matcher.group(1).splitWithDelimiters(" \\d+", -1);
         for (String s : preSchema) {
             if (s.isEmpty()) {
                 continue;
             }
             postSchema.add(s.trim());
         }
+        for (String option : matcher.group(2).split(" ")) {
+            if (!option.isEmpty()) {
+                postSchema.add(option);
+            }
+        }
         return postSchema;
     }
 
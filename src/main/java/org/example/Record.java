@@ -11,10 +11,20 @@ public class Record {
         this.age = age;
     }
 
+    public String getName() {
+        return name;
+    }
+
+    public String getGender() {
+        return gender;
+    }
+
+    public String getAge() {
+        return age;
+    }
+
     @Override
     public String toString() {
         return "Record {name='" + name + "', gender='" + gender + "', age='" + age + "'}";
     }
-
-    // Getters and Setters (if needed)
 }
\ No newline at end of file
@@ -0,0 +1,199 @@
+package org.example;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.tools.*;
+
+import org.example.exceptions.SchemaValidationException;
+import org.example.runtime.RecordParser;
+
+/**
+ * Generates the Record, FixedLengthParser and FixedLengthWriter classes of a schema and compiles and loads them in memory, without writing
+ * anything to src/main/java. This lets a long-running process onboard new schemas without a rebuild or a restart.
+ * <p>
+ * Every schema is compiled into its own package and loaded by its own class loader, so any number of schemas can be
+ * loaded side by side, and a schema is unloaded once its CompiledSchema is no longer referenced.
+ * </p>
+ */
+public class SchemaCompiler {
+    public static final String PACKAGE_PREFIX = "org.example.schema";
+
+    private final Generator generator;
+    private final JavaCompiler compiler;
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Constructor
+     */
+    public SchemaCompiler() {
+        this(new Generator());
+    }
+
+    public SchemaCompiler(Generator generator) {
+        this.generator = generator;
+        this.compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("No Java compiler is available: SchemaCompiler requires a JDK, not a JRE.");
+        }
+    }
+
+    /**
+     * Parses a schema file and compiles its Record, FixedLengthParser and FixedLengthWriter classes.
+     *
+     * @param filePath path to the schema file.
+     * @return the compiled classes.
+     * @throws IOException if an I/O error occurs while parsing the schema file.
+     * @throws SchemaValidationException if the content in the schema file does not follow valid format.
+     */
+    public CompiledSchema compile(String filePath) throws IOException, SchemaValidationException {
+        return compile(generator.parseSchemaFile(filePath));
+    }
+
+    /**
+     * Compiles the Record, FixedLengthParser and FixedLengthWriter classes of the given columns into a new, unique package.
+     */
+    public CompiledSchema compile(List<Column> cols) {
+        return compile(cols, PACKAGE_PREFIX + ".s" + sequence.incrementAndGet());
+    }
+
+    /**
+     * Compiles the Record, FixedLengthParser and FixedLengthWriter classes of the given columns into the given package.
+     *
+     * @param cols a list of Column objects.
+     * @param packageName the package of the generated classes.
+     * @return the compiled classes, loaded by a new class loader.
+     * @throws IllegalStateException if the generated source code does not compile.
+     */
+    public CompiledSchema compile(List<Column> cols, String packageName) {
+        List<JavaFileObject> sources = new ArrayList<>();
+        sources.add(new SourceFile(packageName + ".Record", generator.renderRecordClass(cols, packageName)));
+        sources.add(new SourceFile(packageName + ".FixedLengthParser", generator.renderFLPClass(cols, packageName)));
+        sources.add(new SourceFile(packageName + ".FixedLengthWriter", generator.renderFLWClass(cols, packageName)));
+
+        Map<String, byte[]> classFiles = new HashMap<>();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (MemoryFileManager fileManager = new MemoryFileManager(compiler.getStandardFileManager(diagnostics, null, null), classFiles)) {
+            List<String> options = List.of("-classpath", classPath(), "-proc:none");
+            Boolean success = compiler.getTask(null, fileManager, diagnostics, options, null, sources).call();
+            if (!success) {
+                throw new IllegalStateException("Cannot compile the classes generated in " + packageName + ": " + diagnostics.getDiagnostics());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot close the in-memory file manager", e);
+        }
+        return load(cols, packageName, classFiles);
+    }
+
+    /**
+     * Loads previously compiled classes, e.g. read back from disk, into a new class loader.
+     *
+     * @param cols the columns the classes were generated from.
+     * @param packageName the package of the generated classes.
+     * @param classFiles the bytecode of the classes, keyed by binary class name.
+     */
+    public static CompiledSchema load(List<Column> cols, String packageName, Map<String, byte[]> classFiles) {
+        MemoryClassLoader loader = new MemoryClassLoader(SchemaCompiler.class.getClassLoader(), classFiles);
+        try {
+            Class<?> recordClass = loader.loadClass(packageName + ".Record");
+            Class<?> parserClass = loader.loadClass(packageName + ".FixedLengthParser");
+            Class<?> writerClass = loader.loadClass(packageName + ".FixedLengthWriter");
+            return new CompiledSchema(cols, packageName, recordClass, parserClass, writerClass, classFiles);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Cannot load the classes generated in " + packageName, e);
+        }
+    }
+
+    /**
+     * The generated classes depend on org.example.runtime, which may not be on java.class.path when running inside
+     * a container or an application server, so its location is added explicitly.
+     */
+    private static String classPath() {
+        String classPath = System.getProperty("java.class.path", "");
+        try {
+            var source = RecordParser.class.getProtectionDomain().getCodeSource();
+            if (source != null) {
+                classPath = classPath + File.pathSeparator + Path.of(source.getLocation().toURI());
+            }
+        } catch (URISyntaxException | IllegalArgumentException | SecurityException e) {
+            // Fall back to java.class.path only
+        }
+        return classPath;
+    }
+
+    private static final class SourceFile extends SimpleJavaFileObject {
+        private final String code;
+
+        SourceFile(String className, String code) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.code = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code;
+        }
+    }
+
+    private static final class ClassFile extends SimpleJavaFileObject {
+        private final String className;
+        private final Map<String, byte[]> classFiles;
+
+        ClassFile(String className, Map<String, byte[]> classFiles) {
+            super(URI.create("mem:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+            this.className = className;
+            this.classFiles = classFiles;
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return new ByteArrayOutputStream() {
+                @Override
+                public void close() {
+                    classFiles.put(className, toByteArray());
+                }
+            };
+        }
+    }
+
+    private static final class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+        private final Map<String, byte[]> classFiles;
+
+        MemoryFileManager(StandardJavaFileManager fileManager, Map<String, byte[]> classFiles) {
+            super(fileManager);
+            this.classFiles = classFiles;
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+            return new ClassFile(className, classFiles);
+        }
+    }
+
+    private static final class MemoryClassLoader extends ClassLoader {
+        private final Map<String, byte[]> classFiles;
+
+        MemoryClassLoader(ClassLoader parent, Map<String, byte[]> classFiles) {
+            super(parent);
+            this.classFiles = classFiles;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classFiles.get(name);
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
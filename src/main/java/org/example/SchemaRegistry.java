@@ -0,0 +1,217 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.example.exceptions.SchemaValidationException;
+
+/**
+ * A cache of compiled schemas, keyed by a fingerprint of their columns.
+ * <p>
+ * The most recently used schemas are kept in memory up to a maximum number of entries. When a cache directory is
+ * given, the bytecode of every compiled schema is also persisted there, so that a new process can load the classes
+ * back instead of generating and compiling them again. Persisted entries are not invalidated when the templates change,
+ * so the cache directory should be specific to a version of the application.
+ * </p>
+ * <p>
+ * The columns parsed from a schema file are cached as well, keyed by its path, and only parsed again once the size or
+ * the modification time of the file changes, so that a warm lookup does not read the file.
+ * </p>
+ */
+public class SchemaRegistry {
+    private final SchemaCompiler compiler;
+    private final Generator generator;
+    private final Path cacheDir;
+    private final Map<String, CompiledSchema> cache;
+    private final Map<Path, SchemaFile> schemaFiles;
+
+    /**
+     * The columns of a schema file, with the attributes of the file they were parsed from.
+     */
+    private record SchemaFile(long size, long lastModified, List<Column> cols) {
+    }
+
+    /**
+     * Constructor
+     *
+     * @param compiler the compiler used on a cache miss.
+     * @param maxEntries the maximum number of compiled schemas kept in memory.
+     * @param cacheDir the directory where compiled classes are persisted, or null to only cache in memory.
+     */
+    public SchemaRegistry(SchemaCompiler compiler, int maxEntries, Path cacheDir) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.compiler = compiler;
+        this.generator = new Generator();
+        this.cacheDir = cacheDir;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledSchema> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.schemaFiles = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, SchemaFile> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Parses a schema file and returns its compiled classes, compiling them only if the same columns were not seen before.
+     *
+     * @param filePath path to the schema file.
+     * @throws IOException if an I/O error occurs while parsing the schema file or accessing the cache directory.
+     * @throws SchemaValidationException if the content in the schema file does not follow valid format.
+     */
+    public CompiledSchema get(String filePath) throws IOException, SchemaValidationException {
+        return get(columnsOf(filePath));
+    }
+
+    /**
+     * Returns the compiled classes of the given columns, from memory, from the cache directory, or by compiling them.
+     *
+     * @throws IOException if an I/O error occurs while accessing the cache directory.
+     */
+    public CompiledSchema get(List<Column> cols) throws IOException {
+        String fingerprint = fingerprint(cols);
+        synchronized (cache) {
+            CompiledSchema schema = cache.get(fingerprint);
+            if (schema != null) {
+                return schema;
+            }
+        }
+
+        // Compile outside the lock so that lookups of other schemas are not blocked
+        String packageName = SchemaCompiler.PACKAGE_PREFIX + ".s" + fingerprint.substring(0, 16);
+        CompiledSchema schema = loadFromDisk(cols, packageName, fingerprint);
+        if (schema == null) {
+            schema = compiler.compile(cols, packageName);
+            saveToDisk(schema, fingerprint);
+        }
+
+        synchronized (cache) {
+            CompiledSchema existing = cache.putIfAbsent(fingerprint, schema);
+            return existing != null ? existing : schema;
+        }
+    }
+
+    /**
+     * Returns the number of compiled schemas currently held in memory.
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Computes a SHA-256 fingerprint of the columns, covering the name, the indexes and the type of every column in order.
+     *
+     * @return the fingerprint as a lower-case hexadecimal String.
+     */
+    public static String fingerprint(List<Column> cols) {
+        StringBuilder canonical = new StringBuilder();
+        for (Column col : cols) {
+            canonical.append(col.getColumnName()).append(' ')
+                    .append(col.getStartIndex()).append(' ')
+                    .append(col.getEndIndex()).append(' ')
+                    .append(col.getType().getKeyword())
+                    .append(col.isDictionary() ? " dict\n" : "\n");
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Returns the columns of the schema file, parsing it only if it changed since it was last parsed.
+     */
+    private List<Column> columnsOf(String filePath) throws IOException, SchemaValidationException {
+        Path path = Path.of(filePath).toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        synchronized (schemaFiles) {
+            SchemaFile schemaFile = schemaFiles.get(path);
+            if (schemaFile != null && schemaFile.size() == size && schemaFile.lastModified() == lastModified) {
+                return schemaFile.cols();
+            }
+        }
+
+        List<Column> cols = List.copyOf(generator.parseSchemaFile(filePath, false));
+        synchronized (schemaFiles) {
+            schemaFiles.put(path, new SchemaFile(size, lastModified, cols));
+        }
+        return cols;
+    }
+
+    private CompiledSchema loadFromDisk(List<Column> cols, String packageName, String fingerprint) throws IOException {
+        if (cacheDir == null) {
+            return null;
+        }
+        Path dir = cacheDir.resolve(fingerprint);
+        if (!Files.isDirectory(dir)) {
+            return null;
+        }
+
+        Map<String, byte[]> classFiles = new HashMap<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String fileName = file.getFileName().toString();
+                if (fileName.endsWith(".class")) {
+                    classFiles.put(fileName.substring(0, fileName.length() - ".class".length()), Files.readAllBytes(file));
+                }
+            }
+        }
+        return SchemaCompiler.load(cols, packageName, classFiles);
+    }
+
+    private void saveToDisk(CompiledSchema schema, String fingerprint) throws IOException {
+        if (cacheDir == null) {
+            return;
+        }
+        Files.createDirectories(cacheDir);
+        Path dir = cacheDir.resolve(fingerprint);
+        if (Files.isDirectory(dir)) {
+            return;
+        }
+
+        // Write to a temporary directory first so that a concurrent reader never sees a partial entry
+        Path tmp = Files.createTempDirectory(cacheDir, fingerprint + ".tmp");
+        for (Map.Entry<String, byte[]> classFile : schema.getClassFiles().entrySet()) {
+            Files.write(tmp.resolve(classFile.getKey() + ".class"), classFile.getValue());
+        }
+        try {
+            Files.move(tmp, dir, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Another process stored the same schema in the meantime
+            try (Stream<Path> files = Files.list(tmp)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(tmp);
+            if (!Files.isDirectory(dir)) {
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.exceptions;
+
+/**
+ * Exception thrown when a parser rejects more lines than allowed by a fail-fast RejectSink.
+ * <p>
+ * This exception is unchecked because it is raised from the callbacks of the parse loop; it aborts the parse and is
+ * propagated to the caller of the parser.
+ * </p>
+ */
+public class RejectLimitExceededException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public RejectLimitExceededException(String message) {
+        super(message);
+    }
+}
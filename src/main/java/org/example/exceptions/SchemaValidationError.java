@@ -6,10 +6,12 @@ package org.example.exceptions;
  */
 public enum SchemaValidationError {
     INVALID_START_INDEX("Invalid startIndex for line %d: '%s'. Note that current startIndex must be greater than or equal to previous endIndex."),
-    INVALID_SCHEMA_FILE("Invalid schema format for line %d: '%s'. Please ensure the strict format of 'columnStr startInt endInt'."),
+    INVALID_SCHEMA_FILE("Invalid schema format for line %d: '%s'. Please ensure the strict format of 'columnStr startInt endInt [type] [dict]'."),
     INVALID_INDEX("Invalid startIndex and/or endIndex for line %d: '%s'. Note that endIndex must be greater than or equal to startIndex, and they should be positive integers."),
     INVALID_COLUMN_NAME("Invalid columnName as '%s' for line %d: '%s'. Note that columnName should not be a reserved keyword in Java."),
-    DUPLICATE_COLUMN_NAME("Invalid columnName as '%s' for line %d: '%s'. Note that there should not be duplicated columnName.");
+    DUPLICATE_COLUMN_NAME("Invalid columnName as '%s' for line %d: '%s'. Note that there should not be duplicated columnName."),
+    INVALID_COLUMN_TYPE("Invalid column type as '%s' for line %d: '%s'. Note that the type should be one of int, long, decimal, date, char or string."),
+    INVALID_DICTIONARY_COLUMN("Invalid dict option for column '%s' for line %d: '%s'. Note that only string columns can be declared with dict.");
 
     private final String messageTemplate;
 
@@ -0,0 +1,138 @@
+package org.example.runtime;
+
+/**
+ * A bounded dictionary of the values of a low-cardinality column, used by the generated parsers for the columns
+ * declared with the "dict" option, so that every occurrence of a value is the same String instance.
+ * <p>
+ * Values are looked up by their characters, straight from the line and without allocating anything. A value is only
+ * allocated the first time it is seen; once maxSize distinct values are known, new values are returned as fresh Strings
+ * without being added, so a column with more distinct values than expected does not grow the heap.
+ * </p>
+ * <p>
+ * Lookups are lock-free and safe from several threads: the table is immutable and replaced by a copy on every
+ * addition, which is cheap since additions stop after maxSize values.
+ * </p>
+ */
+public final class ByteDictionary {
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private final int maxSize;
+    private volatile Table table;
+
+    private static final class Table {
+        final String[] values;
+        final int[] hashes;
+        final int size;
+
+        Table(int capacity) {
+            this(new String[capacity], new int[capacity], 0);
+        }
+
+        Table(String[] values, int[] hashes, int size) {
+            this.values = values;
+            this.hashes = hashes;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Constructor
+     */
+    public ByteDictionary() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public ByteDictionary(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        // At most half full, so that probe sequences stay short
+        this.table = new Table(Integer.highestOneBit(maxSize * 2 - 1) << 1);
+    }
+
+    /**
+     * Returns line[from, to) without leading and trailing whitespace, as the shared instance of that value.
+     */
+    public String intern(CharSequence line, int from, int to) {
+        from = Fields.skipLeading(line, from, to);
+        to = Fields.skipTrailing(line, from, to);
+        int hash = hash(line, from, to);
+
+        Table current = table;
+        String value = find(current, line, from, to, hash);
+        if (value != null) {
+            return value;
+        }
+        return add(line, from, to, hash);
+    }
+
+    /**
+     * Getters
+     */
+    public int size() {
+        return table.size;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    private synchronized String add(CharSequence line, int from, int to, int hash) {
+        // Another thread may have added the value since the lock-free lookup
+        Table current = table;
+        String value = find(current, line, from, to, hash);
+        if (value != null) {
+            return value;
+        }
+
+        value = line.subSequence(from, to).toString();
+        if (current.size == maxSize) {
+            return value;
+        }
+
+        String[] values = current.values.clone();
+        int[] hashes = current.hashes.clone();
+        int mask = values.length - 1;
+        int i = hash & mask;
+        while (values[i] != null) {
+            i = (i + 1) & mask;
+        }
+        values[i] = value;
+        hashes[i] = hash;
+        table = new Table(values, hashes, current.size + 1);
+        return value;
+    }
+
+    private static String find(Table table, CharSequence line, int from, int to, int hash) {
+        String[] values = table.values;
+        int mask = values.length - 1;
+        for (int i = hash & mask; values[i] != null; i = (i + 1) & mask) {
+            if (table.hashes[i] == hash && matches(values[i], line, from, to)) {
+                return values[i];
+            }
+        }
+        return null;
+    }
+
+    private static boolean matches(String value, CharSequence line, int from, int to) {
+        if (value.length() != to - from) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            if (value.charAt(i - from) != line.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(CharSequence line, int from, int to) {
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + line.charAt(i);
+        }
+        // Spread the high bits, since only the low bits select the slot
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.runtime;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Searches ranges of a ByteBuffer for the bytes the readers and the field helpers look for: the newline ending a
+ * record and the blanks padding a field. All indexes are absolute indexes of the buffer, with an exclusive end.
+ * <p>
+ * A byte is blank if it is at most ' ' as an unsigned value, as in String.trim. ByteScanners.SCALAR checks one byte
+ * at a time; ByteScanners.preferred() returns a scanner using the Vector API instead when it is enabled.
+ * </p>
+ */
+public interface ByteScanner {
+    String name();
+
+    /**
+     * Returns whether the scanner is faster on heap buffers than on direct ones, in which case MappedLineReader
+     * copies the mapped file into a heap buffer before scanning it.
+     */
+    boolean prefersHeapBuffers();
+
+    /**
+     * Returns the index of the first byte equal to value in buffer[from, to), or -1 if there is none.
+     */
+    int indexOf(ByteBuffer buffer, int from, int to, byte value);
+
+    /**
+     * Returns the index of the first byte of buffer[from, to) that is not blank, or to if they are all blank.
+     */
+    int skipLeadingBlanks(ByteBuffer buffer, int from, int to);
+
+    /**
+     * Returns the index right after the last byte of buffer[from, to) that is not blank, or from if they are all blank.
+     */
+    int skipTrailingBlanks(ByteBuffer buffer, int from, int to);
+}
@@ -0,0 +1,97 @@
+package org.example.runtime;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The ByteScanner implementations, and the selection of the one used by the readers.
+ * <p>
+ * SCALAR is used by default, since it scans the mapped files in place. The vectorized scanner is opt-in with
+ * -Dorg.example.vector=true: it relies on the incubating jdk.incubator.vector module, which is only resolved when the
+ * JVM is started with --add-modules jdk.incubator.vector, and it scans heap copies of the mapped files. It is loaded
+ * reflectively, so that nothing links against the module when it is missing, and it is only used if the CPU has
+ * vectors of at least 16 bytes. ScanBenchmark compares both scanners.
+ * </p>
+ */
+public final class ByteScanners {
+    public static final String VECTOR_PROPERTY = "org.example.vector";
+
+    /**
+     * Checks one byte at a time; works on any buffer and any JVM.
+     */
+    public static final ByteScanner SCALAR = new ByteScanner() {
+        @Override
+        public String name() {
+            return "scalar";
+        }
+
+        @Override
+        public boolean prefersHeapBuffers() {
+            return false;
+        }
+
+        @Override
+        public int indexOf(ByteBuffer buffer, int from, int to, byte value) {
+            for (int i = from; i < to; i++) {
+                if (buffer.get(i) == value) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int skipLeadingBlanks(ByteBuffer buffer, int from, int to) {
+            while (from < to && (buffer.get(from) & 0xFF) <= ' ') {
+                from++;
+            }
+            return from;
+        }
+
+        @Override
+        public int skipTrailingBlanks(ByteBuffer buffer, int from, int to) {
+            while (to > from && (buffer.get(to - 1) & 0xFF) <= ' ') {
+                to--;
+            }
+            return to;
+        }
+
+        @Override
+        public String toString() {
+            return name();
+        }
+    };
+
+    private static final ByteScanner VECTORIZED = loadVectorized();
+    private static final ByteScanner PREFERRED =
+            VECTORIZED != null && Boolean.getBoolean(VECTOR_PROPERTY) ? VECTORIZED : SCALAR;
+
+    private ByteScanners() {
+    }
+
+    /**
+     * Returns the scanner using the Vector API, or null if it is not available on this JVM or CPU.
+     */
+    public static ByteScanner vectorized() {
+        return VECTORIZED;
+    }
+
+    /**
+     * Returns the vectorized scanner if it is enabled and available, or SCALAR otherwise.
+     */
+    public static ByteScanner preferred() {
+        return PREFERRED;
+    }
+
+    private static ByteScanner loadVectorized() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (ByteScanner) Class.forName(ByteScanners.class.getPackageName() + ".VectorByteScanner")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Including the InvocationTargetException thrown when the vectors of the CPU are too narrow
+            return null;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.runtime;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A reusable, read-only view over a region of a ByteBuffer, exposed as a CharSequence.
+ * <p>
+ * Each byte is interpreted as a single ISO-8859-1 character, which matches fixed-width files encoded in ASCII or any
+ * other single-byte charset. A slice is repositioned over every line instead of allocating a String per line,
+ * and Strings are only created when a part of the slice is explicitly converted.
+ * </p>
+ */
+public final class ByteSlice implements CharSequence {
+    private static final ByteScanner SCANNER = ByteScanners.preferred();
+
+    private ByteBuffer buffer;
+    private int offset;
+    private int length;
+    private byte[] scratch = new byte[64];
+
+    /**
+     * Repositions the slice over buffer[offset, offset + length).
+     */
+    public ByteSlice set(ByteBuffer buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    /**
+     * Getters
+     */
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    public byte byteAt(int index) {
+        return buffer.get(offset + index);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (buffer.get(offset + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString(start, end);
+    }
+
+    /**
+     * Returns the index of the first byte of [from, to) that is not blank, or to if they are all blank.
+     */
+    public int skipLeadingBlanks(int from, int to) {
+        return SCANNER.skipLeadingBlanks(buffer, offset + from, offset + to) - offset;
+    }
+
+    /**
+     * Returns the index right after the last byte of [from, to) that is not blank, or from if they are all blank.
+     */
+    public int skipTrailingBlanks(int from, int to) {
+        return SCANNER.skipTrailingBlanks(buffer, offset + from, offset + to) - offset;
+    }
+
+    /**
+     * Copies bytes [from, to) of the slice into dst starting at dstOffset.
+     */
+    public void copyTo(int from, int to, byte[] dst, int dstOffset) {
+        buffer.get(offset + from, dst, dstOffset, to - from);
+    }
+
+    /**
+     * Materializes bytes [from, to) of the slice as a String.
+     */
+    public String toString(int from, int to) {
+        int len = to - from;
+        if (len <= 0) {
+            return "";
+        }
+        if (scratch.length < len) {
+            scratch = new byte[Math.max(len, scratch.length * 2)];
+        }
+        buffer.get(offset + from, scratch, 0, len);
+        return new String(scratch, 0, len, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public String toString() {
+        return toString(0, length);
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.runtime;
+
+import java.util.Objects;
+
+/**
+ * The progress of a parse at a line boundary: every line before offset has been handed to the consumer or rejected,
+ * and none after it. Parsing resumes from a Checkpoint by reading the file from its offset.
+ */
+public final class Checkpoint {
+    /**
+     * The checkpoint of a parse that has not started yet.
+     */
+    public static final Checkpoint START = new Checkpoint(0, 1, 0, 0);
+
+    private final long offset;
+    private final long lineNo;
+    private final long records;
+    private final long rejects;
+
+    /**
+     * Constructor
+     *
+     * @param offset the offset of the next line to read.
+     * @param lineNo the number of the line starting at offset.
+     * @param records the number of Records handed to the consumer before offset.
+     * @param rejects the number of lines rejected before offset.
+     */
+    public Checkpoint(long offset, long lineNo, long records, long rejects) {
+        this.offset = offset;
+        this.lineNo = lineNo;
+        this.records = records;
+        this.rejects = rejects;
+    }
+
+    /**
+     * Getters
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getLineNo() {
+        return lineNo;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public long getRejects() {
+        return rejects;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Checkpoint other)) {
+            return false;
+        }
+        return offset == other.offset && lineNo == other.lineNo && records == other.records && rejects == other.rejects;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(offset, lineNo, records, rejects);
+    }
+
+    @Override
+    public String toString() {
+        return "Checkpoint{" +
+                "offset=" + offset +
+                ", lineNo=" + lineNo +
+                ", records=" + records +
+                ", rejects=" + rejects +
+                '}';
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.runtime;
+
+import java.io.IOException;
+
+/**
+ * Called by the checkpointed parse every time a Checkpoint is reached.
+ * <p>
+ * For exactly-once delivery, the consumer must only make the effect of the Records it received durable in this
+ * callback, atomically with the Checkpoint itself, e.g. by committing a database transaction that also stores the
+ * Checkpoint, or by flushing its output before CheckpointStore.save. After a crash, the parse is resumed from the last
+ * saved Checkpoint, and the Records delivered after it are delivered again while their uncommitted effects are lost.
+ * </p>
+ */
+@FunctionalInterface
+public interface CheckpointHandler {
+    /**
+     * @throws IOException to abort the parse, e.g. when the Checkpoint cannot be saved.
+     */
+    void onCheckpoint(Checkpoint checkpoint) throws IOException;
+}
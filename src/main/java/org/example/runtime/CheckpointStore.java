@@ -0,0 +1,87 @@
+package org.example.runtime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persists a Checkpoint in a small text file, so that a parse can be resumed by a new process.
+ * <p>
+ * Checkpoints are written to a temporary file next to the target and moved over it atomically, so a crash while saving
+ * leaves either the previous or the new Checkpoint, never a partial one.
+ * </p>
+ */
+public final class CheckpointStore {
+    private final Path file;
+
+    /**
+     * Constructor
+     */
+    public CheckpointStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the last saved Checkpoint, or Checkpoint.START if none was saved.
+     *
+     * @throws IOException if the file cannot be read or is not a checkpoint file.
+     */
+    public Checkpoint load() throws IOException {
+        if (!Files.exists(file)) {
+            return Checkpoint.START;
+        }
+        Map<String, Long> values = new HashMap<>();
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (String line : lines) {
+            int eq = line.indexOf('=');
+            if (eq > 0) {
+                try {
+                    values.put(line.substring(0, eq), Long.parseLong(line.substring(eq + 1)));
+                } catch (NumberFormatException e) {
+                    throw new IOException("Invalid line '" + line + "' in checkpoint file " + file, e);
+                }
+            }
+        }
+        if (!values.keySet().containsAll(List.of("offset", "lineNo", "records", "rejects"))) {
+            throw new IOException("Incomplete checkpoint file " + file + ": " + lines);
+        }
+        return new Checkpoint(values.get("offset"), values.get("lineNo"), values.get("records"), values.get("rejects"));
+    }
+
+    /**
+     * Replaces the saved Checkpoint, atomically.
+     */
+    public void save(Checkpoint checkpoint) throws IOException {
+        String content = "offset=" + checkpoint.getOffset() + "\n" +
+                "lineNo=" + checkpoint.getLineNo() + "\n" +
+                "records=" + checkpoint.getRecords() + "\n" +
+                "rejects=" + checkpoint.getRejects() + "\n";
+        Path dir = file.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)));
+                // Make the content durable before it replaces the previous checkpoint
+                channel.force(true);
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Removes the saved Checkpoint, e.g. once the parse has completed.
+     */
+    public void clear() throws IOException {
+        Files.deleteIfExists(file);
+    }
+}
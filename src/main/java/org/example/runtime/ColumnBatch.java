@@ -0,0 +1,288 @@
+package org.example.runtime;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A fixed-size chunk of parsed lines stored column by column, filled by the forEachBatch method of a generated
+ * FixedLengthParser instead of building one Record per line.
+ * <p>
+ * Every column is backed by an array of its primitive type: int[] for INT, long[] for LONG, char[] for CHAR, int[]
+ * of epoch days for DATE, and BigDecimal[] for DECIMAL. STRING columns are stored as the trimmed bytes of all the
+ * rows in a single byte[], with an int[] of offsets where row i spans [offsets[i], offsets[i + 1]). The bulk accessors
+ * return the backing arrays, which are only meaningful for the rows in [0, size()).
+ * </p>
+ * <p>
+ * A batch is reused by the parser for the next chunk as soon as the consumer returns, so its content must be copied
+ * to be kept.
+ * </p>
+ */
+public final class ColumnBatch {
+    /**
+     * The storage of a column, named after the ColumnType of the schema.
+     */
+    public enum Kind {
+        STRING, INT, LONG, DECIMAL, DATE, CHAR
+    }
+
+    private static final int NULL_DATE = Integer.MIN_VALUE;
+
+    private final List<String> columnNames;
+    private final Kind[] kinds;
+    private final Object[] columns;
+    private final int capacity;
+    private int size;
+
+    /**
+     * Constructor
+     */
+    public ColumnBatch(List<String> columnNames, List<Kind> kinds, int capacity) {
+        if (columnNames.size() != kinds.size()) {
+            throw new IllegalArgumentException("Expected one kind per column, got " + kinds.size() + " for " + columnNames);
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.columnNames = List.copyOf(columnNames);
+        this.kinds = kinds.toArray(new Kind[0]);
+        this.columns = new Object[this.kinds.length];
+        this.capacity = capacity;
+        for (int i = 0; i < this.kinds.length; i++) {
+            columns[i] = switch (this.kinds[i]) {
+                case STRING -> new StringColumn(capacity);
+                case INT, DATE -> new int[capacity];
+                case LONG -> new long[capacity];
+                case DECIMAL -> new BigDecimal[capacity];
+                case CHAR -> new char[capacity];
+            };
+        }
+    }
+
+    /**
+     * Getters
+     */
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    public int columnCount() {
+        return kinds.length;
+    }
+
+    public String columnName(int column) {
+        return columnNames.get(column);
+    }
+
+    public Kind kind(int column) {
+        return kinds[column];
+    }
+
+    /**
+     * Returns the index of the column with the given name, or -1 if there is none.
+     */
+    public int indexOf(String columnName) {
+        return columnNames.indexOf(columnName);
+    }
+
+    public int[] ints(int column) {
+        return (int[]) column(column, Kind.INT);
+    }
+
+    public long[] longs(int column) {
+        return (long[]) column(column, Kind.LONG);
+    }
+
+    public char[] chars(int column) {
+        return (char[]) column(column, Kind.CHAR);
+    }
+
+    /**
+     * Returns the dates of the column as epoch days, where Integer.MIN_VALUE stands for a blank date.
+     */
+    public int[] epochDays(int column) {
+        return (int[]) column(column, Kind.DATE);
+    }
+
+    public BigDecimal[] decimals(int column) {
+        return (BigDecimal[]) column(column, Kind.DECIMAL);
+    }
+
+    public byte[] stringBytes(int column) {
+        return ((StringColumn) column(column, Kind.STRING)).bytes;
+    }
+
+    public int[] stringOffsets(int column) {
+        return ((StringColumn) column(column, Kind.STRING)).offsets;
+    }
+
+    public int getInt(int column, int row) {
+        return ints(column)[checkRow(row)];
+    }
+
+    public long getLong(int column, int row) {
+        return longs(column)[checkRow(row)];
+    }
+
+    public char getChar(int column, int row) {
+        return chars(column)[checkRow(row)];
+    }
+
+    public LocalDate getDate(int column, int row) {
+        int epochDay = epochDays(column)[checkRow(row)];
+        return epochDay == NULL_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    public BigDecimal getDecimal(int column, int row) {
+        return decimals(column)[checkRow(row)];
+    }
+
+    /**
+     * Returns the value of a STRING column; this allocates the String.
+     */
+    public String getString(int column, int row) {
+        StringColumn strings = (StringColumn) column(column, Kind.STRING);
+        checkRow(row);
+        int from = strings.offsets[row];
+        return new String(strings.bytes, from, strings.offsets[row + 1] - from, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Setters used by the generated parsers. Each one converts line[from, to) into the given row, which is only
+     * counted in the batch once addRow is called, so a row whose conversion fails is overwritten by the next one.
+     */
+    public void putString(int column, int row, CharSequence line, int from, int to) {
+        from = Fields.skipLeading(line, from, to);
+        to = Fields.skipTrailing(line, from, to);
+        ((StringColumn) columns[column]).put(row, line, from, to);
+    }
+
+    public void putInt(int column, int row, CharSequence line, int from, int to) {
+        ((int[]) columns[column])[row] = Fields.parseInt(line, from, to);
+    }
+
+    public void putLong(int column, int row, CharSequence line, int from, int to) {
+        ((long[]) columns[column])[row] = Fields.parseLong(line, from, to);
+    }
+
+    public void putDecimal(int column, int row, CharSequence line, int from, int to) {
+        ((BigDecimal[]) columns[column])[row] = Fields.parseDecimal(line, from, to);
+    }
+
+    public void putDate(int column, int row, CharSequence line, int from, int to) {
+        LocalDate date = Fields.parseDate(line, from, to);
+        ((int[]) columns[column])[row] = date == null ? NULL_DATE : (int) date.toEpochDay();
+    }
+
+    public void putChar(int column, int row, CharSequence line, int from, int to) {
+        ((char[]) columns[column])[row] = Fields.parseChar(line, from, to);
+    }
+
+    /**
+     * Sets the row of a column left out of the projection to the default value of its kind.
+     */
+    public void putDefault(int column, int row) {
+        switch (kinds[column]) {
+            case STRING -> ((StringColumn) columns[column]).put(row, "", 0, 0);
+            case INT -> ((int[]) columns[column])[row] = 0;
+            case LONG -> ((long[]) columns[column])[row] = 0;
+            case CHAR -> ((char[]) columns[column])[row] = '\0';
+            case DATE -> ((int[]) columns[column])[row] = NULL_DATE;
+            case DECIMAL -> ((BigDecimal[]) columns[column])[row] = null;
+        }
+    }
+
+    /**
+     * Counts the row filled by the put methods, and returns its index.
+     */
+    public int addRow() {
+        if (size == capacity) {
+            throw new IllegalStateException("The batch is full");
+        }
+        return size++;
+    }
+
+    /**
+     * Empties the batch so that it can be filled again; the arrays are kept.
+     */
+    public void clear() {
+        size = 0;
+        for (int i = 0; i < kinds.length; i++) {
+            if (kinds[i] == Kind.DECIMAL) {
+                Arrays.fill((BigDecimal[]) columns[i], null);
+            }
+        }
+    }
+
+    /**
+     * Sets the number of rows loaded directly into the backing arrays, e.g. by ColumnarCache.
+     */
+    void setSize(int size) {
+        if (size < 0 || size > capacity) {
+            throw new IllegalArgumentException("size must be in [0, " + capacity + "]: " + size);
+        }
+        this.size = size;
+    }
+
+    /**
+     * Returns the byte[] of a STRING column, grown to hold at least length bytes.
+     */
+    byte[] reserveStringBytes(int column, int length) {
+        StringColumn strings = (StringColumn) column(column, Kind.STRING);
+        if (strings.bytes.length < length) {
+            strings.bytes = new byte[length];
+        }
+        return strings.bytes;
+    }
+
+    private Object column(int column, Kind expected) {
+        if (kinds[column] != expected) {
+            throw new IllegalArgumentException("Column '" + columnNames.get(column) + "' is " + kinds[column] + ", not " + expected);
+        }
+        return columns[column];
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " is out of the batch of size " + size);
+        }
+        return row;
+    }
+
+    private static final class StringColumn {
+        private byte[] bytes;
+        private final int[] offsets;
+
+        StringColumn(int capacity) {
+            this.bytes = new byte[capacity * 16];
+            this.offsets = new int[capacity + 1];
+        }
+
+        void put(int row, CharSequence line, int from, int to) {
+            int start = offsets[row];
+            int end = start + to - from;
+            if (end > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(end, bytes.length * 2));
+            }
+            if (line instanceof ByteSlice slice) {
+                slice.copyTo(from, to, bytes, start);
+            } else {
+                for (int i = from; i < to; i++) {
+                    char c = line.charAt(i);
+                    bytes[start + i - from] = c <= 0xFF ? (byte) c : (byte) '?';
+                }
+            }
+            offsets[row + 1] = end;
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package org.example.runtime;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * A binary file holding the ColumnBatches parsed out of a fixed-width file, so that the jobs reading the same file
+ * again map the parsed values instead of converting the text once more.
+ * <p>
+ * The file starts with a header recording the fingerprint of the schema, the size and modification time of the source
+ * file, the batch capacity and the kind of every column; the cache is only valid for a source and a schema that still
+ * match it. The header is followed by row groups of up to one batch each, where every column is stored as a typed block
+ * in the layout of ColumnBatch, so a reader copies each block with a single bulk transfer and skips the blocks of the
+ * columns it does not need. Numbers are little-endian.
+ * </p>
+ * <p>
+ * A cache is written to a temporary file next to the target and moved over it once complete, so concurrent readers
+ * either see the previous cache or the new one, never a partial one.
+ * </p>
+ */
+public final class ColumnarCache {
+    public static final int MAGIC = 0x464C4343;
+    public static final int VERSION = 1;
+
+    private static final int GROUP_HEADER_LENGTH = Integer.BYTES + Long.BYTES;
+    private static final int MAX_FINGERPRINT_LENGTH = 256;
+
+    private final Path file;
+
+    /**
+     * Constructor
+     */
+    public ColumnarCache(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Getters
+     */
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Returns whether the cache exists and was written from the current content of the source, with the given schema
+     * fingerprint and batches of the same layout as batch. A cache that cannot be read is reported as invalid.
+     *
+     * @throws IOException if the attributes of the source cannot be read.
+     */
+    public boolean isValid(Path source, String fingerprint, ColumnBatch batch) throws IOException {
+        byte[] expected = header(source, fingerprint, batch);
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer actual = ByteBuffer.allocate(expected.length);
+            while (actual.hasRemaining() && channel.read(actual) >= 0) {
+                // Read the whole header
+            }
+            return !actual.hasRemaining() && Arrays.equals(expected, actual.array());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Starts a new cache for the current content of the source. The attributes of the source are read now, so a source
+     * modified while the cache is written leaves a cache that is invalid for its new content.
+     *
+     * @param layout a batch of the layout of the batches that will be appended.
+     */
+    public Writer create(Path source, String fingerprint, ColumnBatch layout) throws IOException {
+        byte[] header = header(source, fingerprint, layout);
+        Path dir = file.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            return new Writer(tmp, header, layout);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+    }
+
+    /**
+     * Loads every row group of the cache into batch and hands it to the consumer, reusing the batch as forEachBatch
+     * does. The columns for which projected is false are left to their default value without being read; a null
+     * projected reads every column. The cache is expected to be valid for the layout of batch.
+     *
+     * @return the number of rows read.
+     * @throws IOException if the cache cannot be read or is corrupted.
+     */
+    public long read(ColumnBatch batch, boolean[] projected, Consumer<? super ColumnBatch> consumer) throws IOException {
+        long rows = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = headerLength(channel);
+            ByteBuffer groupHeader = ByteBuffer.allocate(GROUP_HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+            while (position < size) {
+                groupHeader.clear();
+                while (groupHeader.hasRemaining()) {
+                    if (channel.read(groupHeader, position + groupHeader.position()) < 0) {
+                        throw corrupted("truncated row group at " + position);
+                    }
+                }
+                int groupRows = groupHeader.getInt(0);
+                long groupLength = groupHeader.getLong(Integer.BYTES);
+                position += GROUP_HEADER_LENGTH;
+                if (groupRows <= 0 || groupRows > batch.capacity() || groupLength < 0 || position + groupLength > size) {
+                    throw corrupted("invalid row group of " + groupRows + " rows and " + groupLength + " bytes at " + position);
+                }
+
+                ByteBuffer group = channel.map(FileChannel.MapMode.READ_ONLY, position, groupLength).order(ByteOrder.LITTLE_ENDIAN);
+                batch.clear();
+                for (int column = 0; column < batch.columnCount(); column++) {
+                    int length = group.getInt();
+                    ByteBuffer block = group.slice(group.position(), length).order(ByteOrder.LITTLE_ENDIAN);
+                    if (projected == null || projected[column]) {
+                        load(batch, column, groupRows, block);
+                    } else {
+                        for (int row = 0; row < groupRows; row++) {
+                            batch.putDefault(column, row);
+                        }
+                    }
+                    group.position(group.position() + length);
+                }
+                batch.setSize(groupRows);
+                consumer.accept(batch);
+                rows += groupRows;
+                position += groupLength;
+            }
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw corrupted(e.toString());
+        }
+        return rows;
+    }
+
+    /**
+     * Removes the cache.
+     */
+    public void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Appends row groups to a new cache, which replaces the previous one on commit. Closing a Writer that was not
+     * committed discards what was written.
+     */
+    public final class Writer implements Closeable {
+        private final Path tmp;
+        private final FileChannel channel;
+        private final ColumnBatch.Kind[] kinds;
+        private ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        private boolean committed;
+
+        private Writer(Path tmp, byte[] header, ColumnBatch layout) throws IOException {
+            this.tmp = tmp;
+            this.kinds = new ColumnBatch.Kind[layout.columnCount()];
+            for (int i = 0; i < kinds.length; i++) {
+                kinds[i] = layout.kind(i);
+            }
+            this.channel = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            writeFully(ByteBuffer.wrap(header));
+        }
+
+        /**
+         * Appends the rows of the batch as a row group; an empty batch is ignored.
+         */
+        public void append(ColumnBatch batch) throws IOException {
+            int rows = batch.size();
+            if (rows == 0) {
+                return;
+            }
+            if (batch.columnCount() != kinds.length) {
+                throw new IllegalArgumentException("Expected " + kinds.length + " columns, got " + batch.columnCount());
+            }
+            buffer.clear();
+            ensure(GROUP_HEADER_LENGTH);
+            buffer.putInt(rows).putLong(0);
+            for (int column = 0; column < kinds.length; column++) {
+                if (batch.kind(column) != kinds[column]) {
+                    throw new IllegalArgumentException("Column '" + batch.columnName(column) + "' is " + batch.kind(column) + ", not " + kinds[column]);
+                }
+                ensure(Integer.BYTES);
+                int lengthPosition = buffer.position();
+                buffer.putInt(0);
+                store(batch, column, rows);
+                buffer.putInt(lengthPosition, buffer.position() - lengthPosition - Integer.BYTES);
+            }
+            buffer.putLong(Integer.BYTES, buffer.position() - GROUP_HEADER_LENGTH);
+            buffer.flip();
+            writeFully(buffer);
+        }
+
+        /**
+         * Makes the cache durable and moves it over the previous one.
+         */
+        public void commit() throws IOException {
+            channel.force(true);
+            channel.close();
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                channel.close();
+                Files.deleteIfExists(tmp);
+            }
+        }
+
+        private void store(ColumnBatch batch, int column, int rows) {
+            switch (kinds[column]) {
+                case INT -> {
+                    ensure(rows * Integer.BYTES);
+                    buffer.asIntBuffer().put(batch.ints(column), 0, rows);
+                    buffer.position(buffer.position() + rows * Integer.BYTES);
+                }
+                case DATE -> {
+                    ensure(rows * Integer.BYTES);
+                    buffer.asIntBuffer().put(batch.epochDays(column), 0, rows);
+                    buffer.position(buffer.position() + rows * Integer.BYTES);
+                }
+                case LONG -> {
+                    ensure(rows * Long.BYTES);
+                    buffer.asLongBuffer().put(batch.longs(column), 0, rows);
+                    buffer.position(buffer.position() + rows * Long.BYTES);
+                }
+                case CHAR -> {
+                    ensure(rows * Character.BYTES);
+                    buffer.asCharBuffer().put(batch.chars(column), 0, rows);
+                    buffer.position(buffer.position() + rows * Character.BYTES);
+                }
+                case STRING -> {
+                    // The end offset of every row, then the bytes of all the rows; the first row always starts at 0
+                    int[] offsets = batch.stringOffsets(column);
+                    int bytes = offsets[rows];
+                    ensure(rows * Integer.BYTES + bytes);
+                    buffer.asIntBuffer().put(offsets, 1, rows);
+                    buffer.position(buffer.position() + rows * Integer.BYTES);
+                    buffer.put(batch.stringBytes(column), 0, bytes);
+                }
+                case DECIMAL -> {
+                    // The scale and the two's-complement bytes of the unscaled value of every row, or a length of -1 for null
+                    BigDecimal[] decimals = batch.decimals(column);
+                    for (int row = 0; row < rows; row++) {
+                        BigDecimal value = decimals[row];
+                        byte[] unscaled = value == null ? null : value.unscaledValue().toByteArray();
+                        ensure(2 * Integer.BYTES + (unscaled == null ? 0 : unscaled.length));
+                        buffer.putInt(value == null ? 0 : value.scale());
+                        buffer.putInt(unscaled == null ? -1 : unscaled.length);
+                        if (unscaled != null) {
+                            buffer.put(unscaled);
+                        }
+                    }
+                }
+            }
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+                buffer = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN).put(buffer.flip());
+            }
+        }
+
+        private void writeFully(ByteBuffer source) throws IOException {
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        }
+    }
+
+    private void load(ColumnBatch batch, int column, int rows, ByteBuffer block) throws IOException {
+        switch (batch.kind(column)) {
+            case INT -> block.asIntBuffer().get(batch.ints(column), 0, rows);
+            case DATE -> block.asIntBuffer().get(batch.epochDays(column), 0, rows);
+            case LONG -> block.asLongBuffer().get(batch.longs(column), 0, rows);
+            case CHAR -> block.asCharBuffer().get(batch.chars(column), 0, rows);
+            case STRING -> {
+                int[] offsets = batch.stringOffsets(column);
+                offsets[0] = 0;
+                block.asIntBuffer().get(offsets, 1, rows);
+                int bytes = offsets[rows];
+                if (bytes < 0 || bytes != block.limit() - rows * Integer.BYTES) {
+                    throw corrupted("invalid string block of column '" + batch.columnName(column) + "'");
+                }
+                block.get(rows * Integer.BYTES, batch.reserveStringBytes(column, bytes), 0, bytes);
+            }
+            case DECIMAL -> {
+                BigDecimal[] decimals = batch.decimals(column);
+                for (int row = 0; row < rows; row++) {
+                    int scale = block.getInt();
+                    int length = block.getInt();
+                    if (length < 0) {
+                        decimals[row] = null;
+                    } else {
+                        byte[] unscaled = new byte[length];
+                        block.get(unscaled);
+                        decimals[row] = new BigDecimal(new BigInteger(unscaled), scale);
+                    }
+                }
+            }
+        }
+    }
+
+    private static byte[] header(Path source, String fingerprint, ColumnBatch batch) throws IOException {
+        byte[] fingerprintBytes = fingerprint.getBytes(StandardCharsets.UTF_8);
+        if (fingerprintBytes.length > MAX_FINGERPRINT_LENGTH) {
+            throw new IllegalArgumentException("The fingerprint is longer than " + MAX_FINGERPRINT_LENGTH + " bytes: " + fingerprint);
+        }
+        ByteBuffer header = ByteBuffer.allocate(5 * Integer.BYTES + 2 * Long.BYTES + fingerprintBytes.length + batch.columnCount())
+                .order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION)
+                .putInt(fingerprintBytes.length).put(fingerprintBytes)
+                .putLong(Files.size(source))
+                .putLong(Files.getLastModifiedTime(source).toMillis())
+                .putInt(batch.capacity())
+                .putInt(batch.columnCount());
+        for (int column = 0; column < batch.columnCount(); column++) {
+            header.put((byte) batch.kind(column).ordinal());
+        }
+        return header.array();
+    }
+
+    /**
+     * Returns the length of the header of the cache, checking its magic number and version.
+     */
+    private long headerLength(FileChannel channel) throws IOException {
+        ByteBuffer start = ByteBuffer.allocate(3 * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (start.hasRemaining()) {
+            if (channel.read(start) < 0) {
+                throw corrupted("truncated header");
+            }
+        }
+        if (start.getInt(0) != MAGIC || start.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException(file + " is not a columnar cache of version " + VERSION);
+        }
+        int fingerprintLength = start.getInt(2 * Integer.BYTES);
+        if (fingerprintLength < 0 || fingerprintLength > MAX_FINGERPRINT_LENGTH) {
+            throw corrupted("invalid fingerprint length " + fingerprintLength);
+        }
+        // Skip the fingerprint, the attributes of the source, the capacity and the column count to read the kinds
+        long countPosition = 3 * Integer.BYTES + fingerprintLength + 2 * Long.BYTES + Integer.BYTES;
+        ByteBuffer count = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (count.hasRemaining()) {
+            if (channel.read(count, countPosition + count.position()) < 0) {
+                throw corrupted("truncated header");
+            }
+        }
+        return countPosition + Integer.BYTES + count.getInt(0);
+    }
+
+    private IOException corrupted(String detail) {
+        return new IOException("Corrupted columnar cache " + file + ": " + detail);
+    }
+}
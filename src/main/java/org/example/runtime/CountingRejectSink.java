@@ -0,0 +1,41 @@
+package org.example.runtime;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe RejectSink that only counts the rejected lines, by reason.
+ */
+public class CountingRejectSink implements RejectSink {
+    private final Map<RejectReason, LongAdder> counts = new EnumMap<>(RejectReason.class);
+
+    /**
+     * Constructor
+     */
+    public CountingRejectSink() {
+        for (RejectReason reason : RejectReason.values()) {
+            counts.put(reason, new LongAdder());
+        }
+    }
+
+    @Override
+    public void reject(CharSequence line, long lineNo, long byteOffset, RejectReason reason, String detail) {
+        counts.get(reason).increment();
+    }
+
+    /**
+     * Getters
+     */
+    public long getCount() {
+        long total = 0;
+        for (LongAdder count : counts.values()) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    public long getCount(RejectReason reason) {
+        return counts.get(reason).sum();
+    }
+}
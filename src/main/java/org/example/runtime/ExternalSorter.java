@@ -0,0 +1,523 @@
+package org.example.runtime;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+
+/**
+ * Sorts the lines of a fixed-width file by one or more SortKeys within a memory budget, e.g. to sort or group a file
+ * that does not fit in the heap as Records.
+ * <p>
+ * Lines are added as raw bytes into a buffer of at most memoryBudget bytes, next to their line number and offset and
+ * to the parsed value of their number keys. Every time the buffer is full, its lines are sorted in place and spilled
+ * as a run to a temporary file. The runs are then merged k at a time, where k is as large as the budget allows for the
+ * read buffers, until the last merge hands the lines over in order; when all the lines fit in the buffer, they are
+ * sorted in memory and never written. Lines with equal keys keep the order in which they were added.
+ * </p>
+ * <p>
+ * A sorter is used once: lines are added, then sorted or aggregated, then it is closed, which removes its runs.
+ * </p>
+ */
+public final class ExternalSorter implements Closeable {
+    public static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    /**
+     * Converts a sorted line, e.g. into a Record, or returns null to skip it.
+     */
+    @FunctionalInterface
+    public interface Converter<R> {
+        R convert(ByteSlice line, long lineNo, long byteOffset);
+    }
+
+    private final SortKey[] keys;
+    private final int[] numberSlots;
+    private final int recordLength;
+    private final int entryLength;
+    private final int capacity;
+    private final long memoryBudget;
+    private final Path tempDir;
+    private final List<Path> runs = new ArrayList<>();
+    private final List<Path> temporaryFiles = new ArrayList<>();
+    private final long[] numbers;
+    private byte[] buffer = new byte[0];
+    private int count;
+    private long added;
+    private boolean sorted;
+
+    /**
+     * Constructor
+     *
+     * @param recordLength the length of every line added.
+     * @param memoryBudget the maximum number of bytes used for the lines held in memory and for the read buffers of the merge.
+     * @param tempDir the directory of the runs, or null for the default temporary-file directory.
+     */
+    public ExternalSorter(List<SortKey> keys, int recordLength, long memoryBudget, Path tempDir) {
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("At least one sort key is required");
+        }
+        this.keys = keys.toArray(new SortKey[0]);
+        this.numberSlots = new int[this.keys.length];
+        int slot = recordLength;
+        for (int i = 0; i < this.keys.length; i++) {
+            RawColumn column = this.keys[i].getColumn();
+            if (column.getFrom() < 0 || column.getTo() > recordLength || column.getFrom() > column.getTo()) {
+                throw new IllegalArgumentException("Sort key " + this.keys[i] + " is out of the record of length " + recordLength);
+            }
+            numberSlots[i] = this.keys[i].isNumber() ? slot : -1;
+            slot += this.keys[i].isNumber() ? Long.BYTES : 0;
+        }
+        this.recordLength = recordLength;
+        // The record, the parsed number keys, then the line number and the offset
+        this.entryLength = slot + 2 * Long.BYTES;
+        // Sorting in place needs two int[] of indexes next to the entries
+        long entries = Math.min(memoryBudget / (entryLength + 2L * Integer.BYTES), (Integer.MAX_VALUE - 8) / entryLength);
+        this.capacity = (int) Math.max(2, entries);
+        this.memoryBudget = memoryBudget;
+        this.tempDir = tempDir;
+        this.numbers = new long[this.keys.length];
+    }
+
+    /**
+     * Adds a line of recordLength characters.
+     *
+     * @throws IllegalArgumentException if the line does not have the record length or if a number key cannot be parsed;
+     *                                  the line is not added then.
+     * @throws IOException if the buffer is full and cannot be spilled.
+     */
+    public void add(CharSequence line, long lineNo, long byteOffset) throws IOException {
+        if (sorted) {
+            throw new IllegalStateException("The lines were already sorted");
+        }
+        if (line.length() != recordLength) {
+            throw new IllegalArgumentException("Expected a line of " + recordLength + " characters, got " + line.length());
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (numberSlots[i] >= 0) {
+                RawColumn column = keys[i].getColumn();
+                numbers[i] = Fields.parseLong(line, column.getFrom(), column.getTo());
+            }
+        }
+        if (count == capacity) {
+            spill();
+        }
+        int start = reserve();
+        if (line instanceof ByteSlice slice) {
+            slice.copyTo(0, recordLength, buffer, start);
+        } else {
+            for (int i = 0; i < recordLength; i++) {
+                char c = line.charAt(i);
+                buffer[start + i] = c <= 0xFF ? (byte) c : (byte) '?';
+            }
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (numberSlots[i] >= 0) {
+                LONGS.set(buffer, start + numberSlots[i], numbers[i]);
+            }
+        }
+        LONGS.set(buffer, start + entryLength - 2 * Long.BYTES, lineNo);
+        LONGS.set(buffer, start + entryLength - Long.BYTES, byteOffset);
+        count++;
+        added++;
+    }
+
+    /**
+     * Returns the number of lines added.
+     */
+    public long size() {
+        return added;
+    }
+
+    /**
+     * Returns the number of runs spilled to temporary files so far.
+     */
+    public int runCount() {
+        return runs.size();
+    }
+
+    /**
+     * Hands every line to the handler in order, with its original line number and offset.
+     *
+     * @return the number of lines handed over.
+     */
+    public long sorted(LineHandler handler) throws IOException {
+        ByteSlice line = new ByteSlice();
+        return merge((entries, entry, newGroup) -> handler.onLine(
+                line.set(entries, entry, recordLength),
+                (long) LONGS.get(entries.array(), entry + entryLength - 2 * Long.BYTES),
+                (long) LONGS.get(entries.array(), entry + entryLength - Long.BYTES)));
+    }
+
+    /**
+     * Converts the lines in order and reduces every group of consecutive lines with equal keys with the collector,
+     * handing the trimmed values of the keys of the group and the result to the consumer. Only the accumulator of
+     * the current group is held in memory; a group whose lines were all skipped by the converter is not handed over.
+     *
+     * @return the number of groups handed over.
+     */
+    public <R, A, T> long aggregate(Converter<? extends R> converter, Collector<? super R, A, T> collector,
+                                    BiConsumer<? super List<String>, ? super T> consumer) throws IOException {
+        ByteSlice line = new ByteSlice();
+        var group = new Object() {
+            List<String> key;
+            A container;
+            boolean accumulated;
+            long count;
+
+            void finish() {
+                if (accumulated) {
+                    consumer.accept(key, collector.finisher().apply(container));
+                    count++;
+                }
+            }
+        };
+        merge((entries, entry, newGroup) -> {
+            line.set(entries, entry, recordLength);
+            if (newGroup) {
+                group.finish();
+                List<String> key = new ArrayList<>(keys.length);
+                for (SortKey sortKey : keys) {
+                    key.add(Fields.trimmed(line, sortKey.getColumn().getFrom(), sortKey.getColumn().getTo()));
+                }
+                group.key = List.copyOf(key);
+                group.container = collector.supplier().get();
+                group.accumulated = false;
+            }
+            R record = converter.convert(line,
+                    (long) LONGS.get(entries.array(), entry + entryLength - 2 * Long.BYTES),
+                    (long) LONGS.get(entries.array(), entry + entryLength - Long.BYTES));
+            if (record != null) {
+                collector.accumulator().accept(group.container, record);
+                group.accumulated = true;
+            }
+        });
+        group.finish();
+        return group.count;
+    }
+
+    /**
+     * Removes the runs spilled to temporary files.
+     */
+    @Override
+    public void close() throws IOException {
+        buffer = null;
+        IOException failure = null;
+        for (Path run : temporaryFiles) {
+            try {
+                Files.deleteIfExists(run);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        runs.clear();
+        temporaryFiles.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Receives the entries in order; entry is the offset of the entry in entries.
+     */
+    @FunctionalInterface
+    private interface EntryHandler {
+        void onEntry(ByteBuffer entries, int entry, boolean newGroup) throws IOException;
+    }
+
+    private long merge(EntryHandler handler) throws IOException {
+        if (sorted) {
+            throw new IllegalStateException("The lines were already sorted");
+        }
+        sorted = true;
+        GroupTracker tracker = new GroupTracker(handler);
+        if (runs.isEmpty()) {
+            // Everything fits in memory: no run is written
+            int[] order = sortBuffer();
+            ByteBuffer entries = ByteBuffer.wrap(buffer);
+            for (int i = 0; i < count; i++) {
+                tracker.onEntry(entries, order[i] * entryLength);
+            }
+            return tracker.entries;
+        }
+
+        if (count > 0) {
+            spill();
+        }
+        // Release the buffer before allocating the read buffers of the merge
+        buffer = new byte[0];
+        int fanIn = (int) Math.max(2, Math.min(1024, memoryBudget / IO_BUFFER_SIZE - 1));
+        int readBufferSize = (int) Math.max(entryLength, Math.min(IO_BUFFER_SIZE, memoryBudget / (fanIn + 1)) / entryLength * entryLength);
+        while (runs.size() > fanIn) {
+            // Merge the runs fanIn at a time, in order, so that equal keys keep the order in which they were added
+            List<Path> merged = new ArrayList<>();
+            for (int i = 0; i < runs.size(); i += fanIn) {
+                List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                if (group.size() == 1) {
+                    merged.add(group.getFirst());
+                    continue;
+                }
+                Path run = newRun();
+                merged.add(run);
+                try (RunWriter writer = new RunWriter(run)) {
+                    mergeRuns(group, readBufferSize, (entries, entry, newGroup) -> writer.write(entries.array(), entry, entryLength));
+                }
+                for (Path path : group) {
+                    Files.delete(path);
+                }
+            }
+            runs.clear();
+            runs.addAll(merged);
+        }
+        mergeRuns(runs, readBufferSize, (entries, entry, newGroup) -> tracker.onEntry(entries, entry));
+        return tracker.entries;
+    }
+
+    /**
+     * Tells whether every entry starts a new group of keys, by comparing it with a copy of the previous one.
+     */
+    private final class GroupTracker {
+        private final EntryHandler handler;
+        private final byte[] previous = new byte[entryLength];
+        private long entries;
+
+        GroupTracker(EntryHandler handler) {
+            this.handler = handler;
+        }
+
+        void onEntry(ByteBuffer buffer, int entry) throws IOException {
+            boolean newGroup = entries == 0 || compare(previous, 0, buffer.array(), entry) != 0;
+            System.arraycopy(buffer.array(), entry, previous, 0, entryLength);
+            entries++;
+            handler.onEntry(buffer, entry, newGroup);
+        }
+    }
+
+    private void mergeRuns(List<Path> paths, int readBufferSize, EntryHandler handler) throws IOException {
+        List<RunReader> readers = new ArrayList<>();
+        try {
+            PriorityQueue<RunReader> queue = new PriorityQueue<>((a, b) -> {
+                int c = compare(a.buffer.array(), a.buffer.position(), b.buffer.array(), b.buffer.position());
+                return c != 0 ? c : Integer.compare(a.index, b.index);
+            });
+            for (Path path : paths) {
+                RunReader reader = new RunReader(path, readers.size(), readBufferSize);
+                readers.add(reader);
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+            }
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                handler.onEntry(reader.buffer, reader.buffer.position(), false);
+                reader.buffer.position(reader.buffer.position() + entryLength);
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.channel.close();
+            }
+        }
+    }
+
+    private final class RunReader {
+        private final FileChannel channel;
+        private final int index;
+        private final ByteBuffer buffer;
+
+        RunReader(Path path, int index, int bufferSize) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.index = index;
+            this.buffer = ByteBuffer.allocate(bufferSize).limit(0);
+        }
+
+        /**
+         * Makes sure that a whole entry starts at the position of the buffer, and returns false at the end of the run.
+         */
+        boolean next() throws IOException {
+            if (buffer.remaining() >= entryLength) {
+                return true;
+            }
+            buffer.compact();
+            while (buffer.position() < entryLength) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            if (buffer.hasRemaining() && buffer.remaining() < entryLength) {
+                throw new IOException("Truncated sort run with " + buffer.remaining() + " trailing bytes");
+            }
+            return buffer.hasRemaining();
+        }
+    }
+
+    private static final class RunWriter implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER_SIZE);
+
+        RunWriter(Path path) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        void write(byte[] entries, int entry, int length) throws IOException {
+            if (buffer.remaining() < length) {
+                flush();
+            }
+            if (length > buffer.capacity()) {
+                channel.write(ByteBuffer.wrap(entries, entry, length));
+            } else {
+                buffer.put(entries, entry, length);
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (channel) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Sorts the lines held in memory and writes them to a new run.
+     */
+    private void spill() throws IOException {
+        int[] order = sortBuffer();
+        Path run = newRun();
+        runs.add(run);
+        try (RunWriter writer = new RunWriter(run)) {
+            for (int i = 0; i < count; i++) {
+                writer.write(buffer, order[i] * entryLength, entryLength);
+            }
+        }
+        count = 0;
+    }
+
+    private Path newRun() throws IOException {
+        Path run = tempDir == null ? Files.createTempFile("sort-run", ".tmp") : Files.createTempFile(tempDir, "sort-run", ".tmp");
+        temporaryFiles.add(run);
+        return run;
+    }
+
+    /**
+     * Returns the offset of the next entry, growing the buffer up to the capacity.
+     */
+    private int reserve() {
+        int start = count * entryLength;
+        if (start + entryLength > buffer.length) {
+            long length = Math.min((long) capacity * entryLength, Math.max(2L * buffer.length, 1024L * entryLength));
+            buffer = Arrays.copyOf(buffer, (int) length);
+        }
+        return start;
+    }
+
+    /**
+     * Returns the indexes of the entries held in memory in sorted order, with a stable merge sort.
+     */
+    private int[] sortBuffer() {
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        mergeSort(order, order.clone(), 0, count);
+        return order;
+    }
+
+    /**
+     * Sorts order[from, to), using scratch as a copy of the same range.
+     */
+    private void mergeSort(int[] order, int[] scratch, int from, int to) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int entry = order[i];
+                int j = i - 1;
+                while (j >= from && compareEntries(order[j], entry) > 0) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = entry;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        // Sort both halves of scratch using order as scratch, then merge them back into order
+        mergeSort(scratch, order, from, mid);
+        mergeSort(scratch, order, mid, to);
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (j >= to || (i < mid && compareEntries(scratch[i], scratch[j]) <= 0)) {
+                order[k] = scratch[i++];
+            } else {
+                order[k] = scratch[j++];
+            }
+        }
+    }
+
+    private int compareEntries(int a, int b) {
+        return compare(buffer, a * entryLength, buffer, b * entryLength);
+    }
+
+    /**
+     * Compares the keys of the entries starting at a[aOffset] and b[bOffset].
+     */
+    private int compare(byte[] a, int aOffset, byte[] b, int bOffset) {
+        for (int i = 0; i < keys.length; i++) {
+            int c;
+            if (numberSlots[i] >= 0) {
+                c = Long.compare((long) LONGS.get(a, aOffset + numberSlots[i]), (long) LONGS.get(b, bOffset + numberSlots[i]));
+            } else {
+                RawColumn column = keys[i].getColumn();
+                int aFrom = skipLeading(a, aOffset + column.getFrom(), aOffset + column.getTo());
+                int aTo = skipTrailing(a, aFrom, aOffset + column.getTo());
+                int bFrom = skipLeading(b, bOffset + column.getFrom(), bOffset + column.getTo());
+                int bTo = skipTrailing(b, bFrom, bOffset + column.getTo());
+                c = Arrays.compareUnsigned(a, aFrom, aTo, b, bFrom, bTo);
+            }
+            if (c != 0) {
+                return keys[i].isDescending() ? -c : c;
+            }
+        }
+        return 0;
+    }
+
+    private static int skipLeading(byte[] bytes, int from, int to) {
+        while (from < to && (bytes[from] & 0xFF) <= ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    private static int skipTrailing(byte[] bytes, int from, int to) {
+        while (to > from && (bytes[to - 1] & 0xFF) <= ' ') {
+            to--;
+        }
+        return to;
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.runtime;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Helpers used by the generated writers to encode field values into a line, the inverse of Fields.
+ * <p>
+ * All offsets are 0-based with an exclusive end, and out[from, to) is expected to be filled with spaces already, so
+ * only the bytes of the value itself are written. Text is left-aligned and numbers are right-aligned, and every value
+ * is read back unchanged by the matching Fields method. A null value leaves the field blank. Characters are written as
+ * single bytes, as read by forEachMapped, and the ones above 0xFF are replaced by '?'. A value wider than its field is
+ * reported with an IllegalArgumentException, without writing anything.
+ * </p>
+ */
+public final class FieldEncoder {
+    private static final int DATE_LENGTH = 10;
+    private static final int COMPACT_DATE_LENGTH = 8;
+
+    private FieldEncoder() {
+    }
+
+    /**
+     * Writes value left-aligned into out[from, to).
+     */
+    public static void writeString(byte[] out, int from, int to, CharSequence value, String column) {
+        if (value == null) {
+            return;
+        }
+        int length = value.length();
+        if (length > to - from) {
+            throw tooLong(column, value, to - from);
+        }
+        for (int i = 0; i < length; i++) {
+            out[from + i] = toByte(value.charAt(i));
+        }
+    }
+
+    /**
+     * Writes value right-aligned into out[from, to).
+     */
+    public static void writeInt(byte[] out, int from, int to, int value, String column) {
+        writeLong(out, from, to, value, column);
+    }
+
+    /**
+     * Writes value right-aligned into out[from, to), without allocating its String representation.
+     */
+    public static void writeLong(byte[] out, int from, int to, long value, String column) {
+        int length = digits(value);
+        if (value < 0) {
+            length++;
+        }
+        if (length > to - from) {
+            throw tooLong(column, value, to - from);
+        }
+        int i = to;
+        // Accumulate negative digits so that Long.MIN_VALUE does not overflow
+        long remaining = value < 0 ? value : -value;
+        do {
+            out[--i] = (byte) ('0' - remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        if (value < 0) {
+            out[--i] = '-';
+        }
+    }
+
+    /**
+     * Writes value right-aligned into out[from, to), in plain notation.
+     */
+    public static void writeDecimal(byte[] out, int from, int to, BigDecimal value, String column) {
+        if (value == null) {
+            return;
+        }
+        String plain = value.toPlainString();
+        if (plain.length() > to - from) {
+            throw tooLong(column, plain, to - from);
+        }
+        writeString(out, to - plain.length(), to, plain, column);
+    }
+
+    /**
+     * Writes value into out[from, to) in the yyyy-MM-dd format, or in the yyyyMMdd format if the field is too narrow.
+     */
+    public static void writeDate(byte[] out, int from, int to, LocalDate value, String column) {
+        if (value == null) {
+            return;
+        }
+        int year = value.getYear();
+        boolean separated = to - from >= DATE_LENGTH;
+        if (year < 0 || year > 9999 || (!separated && to - from < COMPACT_DATE_LENGTH)) {
+            throw tooLong(column, value, to - from);
+        }
+        int i = from;
+        i = twoDigits(out, i, year / 100);
+        i = twoDigits(out, i, year % 100);
+        if (separated) {
+            out[i++] = '-';
+        }
+        i = twoDigits(out, i, value.getMonthValue());
+        if (separated) {
+            out[i++] = '-';
+        }
+        twoDigits(out, i, value.getDayOfMonth());
+    }
+
+    /**
+     * Writes value at out[from]; '\0', the value of a char column left out of the projection, leaves the field blank.
+     */
+    public static void writeChar(byte[] out, int from, int to, char value, String column) {
+        if (value == '\0') {
+            return;
+        }
+        if (to == from) {
+            throw tooLong(column, value, 0);
+        }
+        out[from] = toByte(value);
+    }
+
+    /**
+     * Checks that out[from, to), the characters a column shares with the next one, were left blank by the value of
+     * the column, since they are read back as part of both columns.
+     */
+    public static void requireBlank(byte[] out, int from, int to, String column, String next) {
+        for (int i = from; i < to; i++) {
+            if (out[i] != ' ') {
+                throw new IllegalArgumentException("Value of column " + column + " reaches into the characters it shares with column " + next);
+            }
+        }
+    }
+
+    private static int twoDigits(byte[] out, int i, int value) {
+        out[i] = (byte) ('0' + value / 10);
+        out[i + 1] = (byte) ('0' + value % 10);
+        return i + 2;
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        // Compare on the negative side so that Long.MIN_VALUE is counted as well
+        for (long limit = -10, negative = value < 0 ? value : -value; negative <= limit && digits < 19; limit *= 10) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private static byte toByte(char c) {
+        return c > 0xFF ? (byte) '?' : (byte) c;
+    }
+
+    private static IllegalArgumentException tooLong(String column, Object value, int width) {
+        return new IllegalArgumentException("Value '" + value + "' of column " + column + " does not fit in " + width + " characters");
+    }
+}
@@ -0,0 +1,219 @@
+package org.example.runtime;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Helpers used by the generated parsers to extract field values out of a line.
+ * <p>
+ * All offsets are 0-based with an exclusive end, as in String.substring. The line can be a String read by a
+ * BufferedReader or a ByteSlice over a memory-mapped file; in both cases only the trimmed value is allocated, and
+ * numeric values are converted directly from the characters of the line without any intermediate String.
+ * Leading and trailing whitespace is ignored by every method, and a blank numeric field is read as 0 (or null for
+ * object types). Malformed values are reported with an IllegalArgumentException.
+ * </p>
+ */
+public final class Fields {
+    private Fields() {
+    }
+
+    /**
+     * Returns line[from, to) without leading and trailing whitespace, equivalent to line.substring(from, to).trim()
+     * but without allocating the untrimmed substring.
+     */
+    public static String trimmed(CharSequence line, int from, int to) {
+        from = skipLeading(line, from, to);
+        to = skipTrailing(line, from, to);
+        if (line instanceof ByteSlice slice) {
+            return slice.toString(from, to);
+        }
+        return line.subSequence(from, to).toString();
+    }
+
+    /**
+     * Repositions view over line[from, to) without leading and trailing whitespace, without allocating anything.
+     */
+    public static ByteSlice trimmedView(ByteSlice line, int from, int to, ByteSlice view) {
+        from = skipLeading(line, from, to);
+        to = skipTrailing(line, from, to);
+        return view.set(line.buffer(), line.offset() + from, to - from);
+    }
+
+    /**
+     * Parses line[from, to) as an optionally signed decimal int.
+     */
+    public static int parseInt(CharSequence line, int from, int to) {
+        long value = parseLong(line, from, to);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw invalid("int", line, from, to);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Parses line[from, to) as an optionally signed decimal long.
+     */
+    public static long parseLong(CharSequence line, int from, int to) {
+        int start = skipLeading(line, from, to);
+        int end = skipTrailing(line, start, to);
+        if (start == end) {
+            return 0;
+        }
+
+        int i = start;
+        boolean negative = false;
+        char first = line.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+        if (i == end) {
+            throw invalid("long", line, from, to);
+        }
+
+        // Accumulate negatively so that Long.MIN_VALUE can be represented
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = line.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || value < (Long.MIN_VALUE + digit) / 10) {
+                throw invalid("long", line, from, to);
+            }
+            value = value * 10 - digit;
+        }
+        if (!negative) {
+            if (value == Long.MIN_VALUE) {
+                throw invalid("long", line, from, to);
+            }
+            value = -value;
+        }
+        return value;
+    }
+
+    /**
+     * Parses line[from, to) as an optionally signed decimal number with an optional '.' separator.
+     */
+    public static BigDecimal parseDecimal(CharSequence line, int from, int to) {
+        int start = skipLeading(line, from, to);
+        int end = skipTrailing(line, start, to);
+        if (start == end) {
+            return null;
+        }
+
+        int i = start;
+        boolean negative = false;
+        char first = line.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; i < end; i++) {
+            char c = line.charAt(i);
+            if (c == '.' && scale < 0) {
+                scale = 0;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                throw invalid("decimal", line, from, to);
+            }
+            if (++digits > 18) {
+                // Too many digits for a long: fall back to the slower, allocating constructor
+                return new BigDecimal(line.subSequence(start, end).toString());
+            }
+            unscaled = unscaled * 10 + (c - '0');
+            if (scale >= 0) {
+                scale++;
+            }
+        }
+        if (digits == 0) {
+            throw invalid("decimal", line, from, to);
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
+    /**
+     * Parses line[from, to) as a date in the yyyyMMdd or yyyy-MM-dd format.
+     */
+    public static LocalDate parseDate(CharSequence line, int from, int to) {
+        int start = skipLeading(line, from, to);
+        int end = skipTrailing(line, start, to);
+        if (start == end) {
+            return null;
+        }
+
+        int length = end - start;
+        boolean separated = length == 10;
+        if (length != 8 && !separated) {
+            throw invalid("date", line, from, to);
+        }
+        if (separated && (line.charAt(start + 4) != '-' || line.charAt(start + 7) != '-')) {
+            throw invalid("date", line, from, to);
+        }
+        int year = digits(line, start, start + 4, from, to);
+        int monthStart = start + (separated ? 5 : 4);
+        int month = digits(line, monthStart, monthStart + 2, from, to);
+        int dayStart = monthStart + (separated ? 3 : 2);
+        int day = digits(line, dayStart, dayStart + 2, from, to);
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            throw invalid("date", line, from, to);
+        }
+    }
+
+    /**
+     * Parses line[from, to) as a single character; a blank field is read as ' '.
+     */
+    public static char parseChar(CharSequence line, int from, int to) {
+        int start = skipLeading(line, from, to);
+        int end = skipTrailing(line, start, to);
+        if (start == end) {
+            return ' ';
+        }
+        if (end - start != 1) {
+            throw invalid("char", line, from, to);
+        }
+        return line.charAt(start);
+    }
+
+    private static int digits(CharSequence line, int start, int end, int from, int to) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = line.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalid("date", line, from, to);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    static int skipLeading(CharSequence line, int from, int to) {
+        if (line instanceof ByteSlice slice) {
+            return slice.skipLeadingBlanks(from, to);
+        }
+        while (from < to && line.charAt(from) <= ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    static int skipTrailing(CharSequence line, int from, int to) {
+        if (line instanceof ByteSlice slice) {
+            return slice.skipTrailingBlanks(from, to);
+        }
+        while (to > from && line.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        return to;
+    }
+
+    private static IllegalArgumentException invalid(String type, CharSequence line, int from, int to) {
+        return new IllegalArgumentException("'" + line.subSequence(from, to) + "' is not a valid " + type
+                + " at position " + (from + 1) + "-" + to + ".");
+    }
+}
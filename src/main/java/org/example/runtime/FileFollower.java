@@ -0,0 +1,198 @@
+package org.example.runtime;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the lines appended to a file that keeps growing, e.g. a feed written throughout the day.
+ * <p>
+ * The follower remembers the committed offset, i.e. the offset right after the last complete line handed to a
+ * LineHandler, and only reads from there on. A trailing line without its terminator is left for a later poll, once it
+ * has been completed by the writer. If the file becomes shorter than the committed offset, it is assumed to have been
+ * truncated or replaced and is read again from the start.
+ * </p>
+ * <p>
+ * follow waits for changes with a WatchService on the directory of the file instead of polling it continuously, with a
+ * timeout as a fallback for file systems whose notifications are late or missing.
+ * </p>
+ */
+public final class FileFollower implements Closeable {
+    public static final Duration DEFAULT_POLL_TIMEOUT = Duration.ofSeconds(1);
+
+    private static final int SCAN_SIZE = 8192;
+
+    private final Path file;
+    private final Duration pollTimeout;
+    private final MappedLineReader reader = new MappedLineReader();
+    private volatile long offset;
+    private volatile long lineNo;
+    private volatile boolean closed;
+    private volatile WatchService watcher;
+
+    /**
+     * Constructor, following the file from its first line.
+     */
+    public FileFollower(Path file) {
+        this(file, 0, 1, DEFAULT_POLL_TIMEOUT);
+    }
+
+    /**
+     * Constructor, resuming at a previously committed offset.
+     *
+     * @param offset the offset of the first line to read, usually a value returned by offset().
+     * @param lineNo the number of the line starting at offset, or 0 if it is not known.
+     * @param pollTimeout the maximum time follow waits for a notification before checking the file anyway.
+     */
+    public FileFollower(Path file, long offset, long lineNo, Duration pollTimeout) {
+        this.file = file;
+        this.offset = offset;
+        this.lineNo = lineNo;
+        this.pollTimeout = pollTimeout;
+    }
+
+    /**
+     * Getters
+     */
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Returns the committed offset: every line before it has been handed to a LineHandler.
+     */
+    public long offset() {
+        return offset;
+    }
+
+    /**
+     * Returns the number of the next line to read, or 0 if it is not known.
+     */
+    public long lineNo() {
+        return lineNo;
+    }
+
+    /**
+     * Reads the complete lines appended since the committed offset, and commits them once they have all been handled.
+     * If the handler throws, the offset is not moved, so the same lines are read again by the next poll.
+     *
+     * @return the number of lines read.
+     * @throws IOException if an I/O error occurs while reading the file.
+     */
+    public long poll(LineHandler handler) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < offset) {
+                // The file was truncated or replaced: start over
+                offset = 0;
+                lineNo = lineNo == 0 ? 0 : 1;
+            }
+
+            long end = completeLinesEnd(channel, offset, size);
+            if (end == offset) {
+                return 0;
+            }
+            long first = lineNo;
+            long[] count = {0};
+            long next = reader.read(channel, offset, end, first, (line, n, byteOffset) -> {
+                handler.onLine(line, n, byteOffset);
+                count[0]++;
+            });
+            offset = next;
+            lineNo = first == 0 ? 0 : first + count[0];
+            return count[0];
+        }
+    }
+
+    /**
+     * Polls the file every time it changes, until the follower is closed from another thread or the calling thread is
+     * interrupted.
+     *
+     * @throws IOException if an I/O error occurs while watching or reading the file.
+     */
+    public void follow(LineHandler handler) throws IOException {
+        follow(handler, () -> {
+        });
+    }
+
+    /**
+     * Same as follow(LineHandler), flushing output after every poll that read lines, e.g. the RejectSink the handler
+     * reports to, since following never reaches the end of the file at which it would be flushed otherwise.
+     */
+    public void follow(LineHandler handler, Flushable output) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        try (WatchService watchService = dir.getFileSystem().newWatchService()) {
+            watcher = watchService;
+            dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            while (!closed) {
+                if (poll(handler) > 0) {
+                    output.flush();
+                }
+                WatchKey key = watchService.poll(pollTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    // Any change in the directory triggers a poll, which is cheap when the file did not grow
+                    key.pollEvents();
+                    key.reset();
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // Closed by close() while waiting
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            watcher = null;
+        }
+    }
+
+    /**
+     * Stops follow; the committed offset is kept.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        WatchService watchService = watcher;
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * Returns the offset right after the last '\n' in [from, size), or from if there is none.
+     */
+    private static long completeLinesEnd(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_SIZE);
+        long end = size;
+        while (end > from) {
+            int length = (int) Math.min(SCAN_SIZE, end - from);
+            long start = end - length;
+            buffer.clear().limit(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    // The file shrank while it was being read: nothing is complete past this point
+                    return from;
+                }
+            }
+            for (int i = length - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return from;
+    }
+}
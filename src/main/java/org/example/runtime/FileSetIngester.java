@@ -0,0 +1,236 @@
+package org.example.runtime;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Parses many files of the same schema concurrently, e.g. the files dropped in a directory by a nightly batch, and
+ * merges their Records into a single consumer.
+ * <p>
+ * Every file is parsed with forEachMapped on its own virtual thread, at most maxConcurrentFiles at a time so that the
+ * number of open and mapped files stays bounded. Records are handed over to the calling thread through a bounded
+ * queue, where the consumer runs, so the consumer does not need to be thread-safe, and parsing threads block when the
+ * consumer falls behind instead of buffering the files in memory. Records of different files are interleaved, while
+ * the Records of a file keep their order.
+ * </p>
+ * <p>
+ * The parser is shared by the parsing threads, so its ParseListener and RejectSink must be thread-safe, as with the
+ * parallel entry points. A file that fails to parse is reported in its FileStatus without stopping the other files.
+ * </p>
+ *
+ * @param <R> the generated Record class.
+ */
+public final class FileSetIngester<R> {
+    public static final int DEFAULT_QUEUE_CAPACITY = 8192;
+    public static final int DEFAULT_MAX_CONCURRENT_FILES = 16;
+
+    /**
+     * The outcome of the ingestion of one file.
+     */
+    public static final class FileStatus {
+        public enum State {
+            SUCCEEDED, FAILED
+        }
+
+        private final Path path;
+        private final State state;
+        private final long records;
+        private final long nanos;
+        private final Throwable error;
+
+        FileStatus(Path path, State state, long records, long nanos, Throwable error) {
+            this.path = path;
+            this.state = state;
+            this.records = records;
+            this.nanos = nanos;
+            this.error = error;
+        }
+
+        /**
+         * Getters
+         */
+        public Path getPath() {
+            return path;
+        }
+
+        public State getState() {
+            return state;
+        }
+
+        /**
+         * Returns the number of Records of the file handed to the consumer, including before a failure.
+         */
+        public long getRecords() {
+            return records;
+        }
+
+        /**
+         * Returns the wall time spent parsing the file, from the moment it got one of the parallelism permits.
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Returns why the file failed, or null if it succeeded.
+         */
+        public Throwable getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return "FileStatus{" +
+                    "path=" + path +
+                    ", state=" + state +
+                    ", records=" + records +
+                    ", nanos=" + nanos +
+                    (error != null ? ", error=" + error : "") +
+                    '}';
+        }
+    }
+
+    private final RecordParser<R> parser;
+    private final int queueCapacity;
+    private final int maxConcurrentFiles;
+
+    /**
+     * Constructor
+     */
+    public FileSetIngester(RecordParser<R> parser) {
+        this(parser, DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_CONCURRENT_FILES);
+    }
+
+    public FileSetIngester(RecordParser<R> parser, int queueCapacity, int maxConcurrentFiles) {
+        if (queueCapacity <= 0 || maxConcurrentFiles <= 0) {
+            throw new IllegalArgumentException("queueCapacity and maxConcurrentFiles must be positive: " + queueCapacity + ", " + maxConcurrentFiles);
+        }
+        this.parser = parser;
+        this.queueCapacity = queueCapacity;
+        this.maxConcurrentFiles = maxConcurrentFiles;
+    }
+
+    /**
+     * Ingests the files of the directory matching the glob, e.g. "*.txt", in the order of their names.
+     *
+     * @return the status of every file, in the same order.
+     * @throws IOException if the directory cannot be listed, or if the calling thread is interrupted.
+     */
+    public List<FileStatus> ingest(Path dir, String glob, Consumer<? super R> consumer) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, glob)) {
+            for (Path file : stream) {
+                if (Files.isRegularFile(file)) {
+                    files.add(file);
+                }
+            }
+        }
+        files.sort(null);
+        return ingest(files, consumer);
+    }
+
+    /**
+     * Ingests the files, and returns when all of them have been parsed and their Records consumed. If the consumer
+     * throws, the parsing threads are interrupted and the exception is propagated.
+     *
+     * @return the status of every file, in the same order.
+     * @throws IOException if the calling thread is interrupted.
+     */
+    public List<FileStatus> ingest(List<Path> files, Consumer<? super R> consumer) throws IOException {
+        BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueCapacity);
+        Semaphore permits = new Semaphore(maxConcurrentFiles);
+        FileStatus[] statuses = new FileStatus[files.size()];
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < files.size(); i++) {
+                int index = i;
+                executor.execute(() -> parse(files.get(index), index, queue, permits));
+            }
+
+            try {
+                int done = 0;
+                while (done < files.size()) {
+                    Object element = queue.take();
+                    if (element instanceof Done finished) {
+                        statuses[finished.index()] = finished.status();
+                        done++;
+                    } else {
+                        @SuppressWarnings("unchecked")
+                        R record = (R) element;
+                        consumer.accept(record);
+                    }
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while ingesting " + files.size() + " files");
+            } catch (RuntimeException | Error e) {
+                // Unblock the parsing threads waiting on the full queue, so that closing the executor does not hang
+                executor.shutdownNow();
+                throw e;
+            }
+        }
+        return List.of(statuses);
+    }
+
+    private record Done(int index, FileStatus status) {
+    }
+
+    private void parse(Path file, int index, BlockingQueue<Object> queue, Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            // The ingestion was cancelled before the file was started
+            return;
+        }
+        // Timed once the permit is acquired, so that the time waiting for the other files is not counted
+        long start = System.nanoTime();
+        long[] records = {0};
+        FileStatus status;
+        try {
+            try {
+                parser.forEachMapped(file.toString(), record -> {
+                    try {
+                        queue.put(record);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new CancelledException();
+                    }
+                    records[0]++;
+                });
+            } finally {
+                permits.release();
+            }
+            status = new FileStatus(file, FileStatus.State.SUCCEEDED, records[0], System.nanoTime() - start, null);
+        } catch (CancelledException e) {
+            // The ingestion was cancelled: nobody is waiting for the status anymore
+            return;
+        } catch (Exception | Error e) {
+            // Always report the file, otherwise ingest would wait for it forever
+            status = new FileStatus(file, FileStatus.State.FAILED, records[0], System.nanoTime() - start, e);
+        }
+
+        try {
+            queue.put(new Done(index, status));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class CancelledException extends RuntimeException {
+        CancelledException() {
+            super(null, null, false, false);
+        }
+    }
+}
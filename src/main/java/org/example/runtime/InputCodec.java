@@ -0,0 +1,31 @@
+package org.example.runtime;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A compression format that the reader-based entry points of a generated FixedLengthParser decompress transparently.
+ * <p>
+ * Codecs are recognized by the first bytes of the file rather than by its extension. The JDK only provides gzip, see
+ * InputCodecs.GZIP; other formats such as zstd can be plugged in with setInputCodecs by wrapping the decoder stream
+ * of their library.
+ * </p>
+ */
+public interface InputCodec {
+    /**
+     * The number of bytes read from the start of a file to recognize its codec.
+     */
+    int HEADER_LENGTH = 8;
+
+    String name();
+
+    /**
+     * Returns whether the file starting with header[0, length) is compressed in this format.
+     */
+    boolean matches(byte[] header, int length);
+
+    /**
+     * Wraps the compressed stream into a stream of the decompressed bytes.
+     */
+    InputStream decode(InputStream compressed) throws IOException;
+}
@@ -0,0 +1,88 @@
+package org.example.runtime;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * The codecs provided out of the box, and the detection of the codec of a file.
+ */
+public final class InputCodecs {
+    public static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * gzip, recognized by its magic number 0x1f 0x8b.
+     */
+    public static final InputCodec GZIP = new InputCodec() {
+        @Override
+        public String name() {
+            return "gzip";
+        }
+
+        @Override
+        public boolean matches(byte[] header, int length) {
+            return length >= 2 && (header[0] & 0xFF) == 0x1f && (header[1] & 0xFF) == 0x8b;
+        }
+
+        @Override
+        public InputStream decode(InputStream compressed) throws IOException {
+            return new GZIPInputStream(compressed, BUFFER_SIZE);
+        }
+
+        @Override
+        public String toString() {
+            return name();
+        }
+    };
+
+    /**
+     * The codecs of the generated parsers unless set otherwise.
+     */
+    public static final List<InputCodec> DEFAULT = List.of(GZIP);
+
+    private InputCodecs() {
+    }
+
+    /**
+     * Returns the first codec matching the first bytes of the file, or null if the file is not compressed in any of them.
+     */
+    public static InputCodec detect(Path file, List<InputCodec> codecs) throws IOException {
+        if (codecs.isEmpty()) {
+            return null;
+        }
+        byte[] header = new byte[InputCodec.HEADER_LENGTH];
+        int length;
+        try (InputStream in = Files.newInputStream(file)) {
+            length = in.readNBytes(header, 0, header.length);
+        }
+        for (InputCodec codec : codecs) {
+            if (codec.matches(header, length)) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Opens the file as a stream of its decompressed bytes. A compressed file is decompressed on a separate thread by a
+     * PipelinedInputStream, so that decompression overlaps with the parsing of the previous bytes; other files are
+     * read as they are.
+     */
+    public static InputStream open(Path file, List<InputCodec> codecs) throws IOException {
+        InputCodec codec = detect(file, codecs);
+        if (codec == null) {
+            return Files.newInputStream(file);
+        }
+        InputStream compressed = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+        try {
+            return new PipelinedInputStream(codec.decode(compressed));
+        } catch (IOException | RuntimeException e) {
+            compressed.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package org.example.runtime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A sidecar file mapping the values of a key column to the offsets of the lines holding them, so that the records of
+ * a key are read straight from a large fixed-width file instead of parsing all of it.
+ * <p>
+ * The file starts with a header recording the fingerprint of the schema, the size and modification time of the source
+ * file and the position of the key column, so that a stale index is detected. It is followed by one fixed-size entry
+ * per line with the length of a record, sorted by key: the trimmed key padded with zero bytes to the width of the
+ * column, then the byte offset and the number of the line. A lookup binary-searches the entries with positional reads,
+ * i.e. O(log n) small reads, and then reads each matching line at its offset. Entries with equal keys keep the order
+ * of the file. Numbers are little-endian.
+ * </p>
+ * <p>
+ * The entries are sorted in memory while the index is built, which bounds the index to 2 GB of entries, e.g. about 100
+ * million lines for a key of 4 characters. The index is written to a temporary file next to the target and moved over
+ * it once complete.
+ * </p>
+ */
+public final class KeyIndex {
+    public static final int MAGIC = 0x464C4958;
+    public static final int VERSION = 1;
+
+    private static final int MAX_ENTRIES_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final Path file;
+
+    /**
+     * Constructor
+     */
+    public KeyIndex(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Getters
+     */
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Returns whether the index exists and was built from the current content of the source, with the given schema
+     * fingerprint and key column. An index that cannot be read is reported as invalid.
+     *
+     * @throws IOException if the attributes of the source cannot be read.
+     */
+    public boolean isValid(Path source, String fingerprint, RawColumn key) throws IOException {
+        byte[] expected = header(source, fingerprint, key);
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer actual = ByteBuffer.allocate(expected.length);
+            while (actual.hasRemaining() && channel.read(actual) >= 0) {
+                // Read the whole header
+            }
+            long entries = channel.size() - expected.length;
+            return !actual.hasRemaining() && Arrays.equals(expected, actual.array()) && entries % entryLength(key) == 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Indexes the key column of every line of the source that is recordLength characters long, replacing the index.
+     *
+     * @return the number of lines indexed.
+     * @throws IllegalStateException if the entries do not fit in memory to be sorted.
+     */
+    public long build(Path source, String fingerprint, RawColumn key, int recordLength) throws IOException {
+        byte[] header = header(source, fingerprint, key);
+        int width = key.getTo() - key.getFrom();
+        int entryLength = entryLength(key);
+        Entries entries = new Entries(entryLength);
+        new MappedLineReader().read(source, (line, lineNo, byteOffset) -> {
+            if (line.length() == recordLength) {
+                entries.add(line, key.getFrom(), key.getTo(), width, byteOffset, lineNo);
+            }
+        });
+        entries.sort(width);
+
+        Path dir = file.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                writeFully(channel, ByteBuffer.wrap(header));
+                writeFully(channel, ByteBuffer.wrap(entries.bytes, 0, entries.count * entryLength));
+                channel.force(true);
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return entries.count;
+    }
+
+    /**
+     * Reads every line of the source whose key column equals the trimmed key, in the order of the file, and hands
+     * it to the handler with its number and offset. The index is expected to be valid for the source.
+     *
+     * @return the number of lines found.
+     * @throws IOException if the index or the source cannot be read, or if the index is corrupted.
+     */
+    public int lookup(Path source, RawColumn key, int recordLength, CharSequence value, LineHandler handler) throws IOException {
+        int width = key.getTo() - key.getFrom();
+        int entryLength = entryLength(key);
+        int from = Fields.skipLeading(value, 0, value.length());
+        int to = Fields.skipTrailing(value, from, value.length());
+        if (to - from > width) {
+            return 0;
+        }
+        byte[] target = new byte[width];
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            target[i - from] = c <= 0xFF ? (byte) c : (byte) '?';
+        }
+
+        try (FileChannel index = FileChannel.open(file, StandardOpenOption.READ);
+             FileChannel data = FileChannel.open(source, StandardOpenOption.READ)) {
+            long headerLength = headerLength(index);
+            long count = (index.size() - headerLength) / entryLength;
+            ByteBuffer entry = ByteBuffer.allocate(entryLength).order(ByteOrder.LITTLE_ENDIAN);
+
+            // Lower bound: the first entry whose key is not less than the target
+            long low = 0;
+            long high = count;
+            while (low < high) {
+                long mid = (low + high) >>> 1;
+                readFully(index, entry, headerLength + mid * entryLength);
+                if (Arrays.compareUnsigned(entry.array(), 0, width, target, 0, width) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            ByteBuffer record = ByteBuffer.allocate(recordLength);
+            ByteSlice line = new ByteSlice();
+            int found = 0;
+            for (long i = low; i < count; i++) {
+                readFully(index, entry, headerLength + i * entryLength);
+                if (!Arrays.equals(entry.array(), 0, width, target, 0, width)) {
+                    break;
+                }
+                long offset = entry.getLong(width);
+                readFully(data, record, offset);
+                handler.onLine(line.set(record, 0, recordLength), entry.getLong(width + Long.BYTES), offset);
+                found++;
+            }
+            return found;
+        }
+    }
+
+    /**
+     * Removes the index.
+     */
+    public void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * The packed entries of the index while it is built.
+     */
+    private static final class Entries {
+        private final int entryLength;
+        private byte[] bytes;
+        private int count;
+
+        Entries(int entryLength) {
+            this.entryLength = entryLength;
+            this.bytes = new byte[entryLength * 1024];
+        }
+
+        void add(ByteSlice line, int from, int to, int width, long offset, long lineNo) {
+            if ((long) (count + 1) * entryLength > bytes.length) {
+                long capacity = Math.min(2L * bytes.length, MAX_ENTRIES_LENGTH / entryLength * entryLength);
+                if (capacity < (long) (count + 1) * entryLength) {
+                    throw new IllegalStateException("Too many lines to index: " + count);
+                }
+                bytes = Arrays.copyOf(bytes, (int) capacity);
+            }
+            int start = count * entryLength;
+            from = Fields.skipLeading(line, from, to);
+            to = Fields.skipTrailing(line, from, to);
+            Arrays.fill(bytes, start, start + width, (byte) 0);
+            line.copyTo(from, to, bytes, start);
+            ByteBuffer.wrap(bytes, start + width, 2 * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                    .putLong(offset).putLong(lineNo);
+            count++;
+        }
+
+        /**
+         * Sorts the entries by key with a stable bottom-up merge sort, so that equal keys keep the order of the file.
+         */
+        void sort(int width) {
+            byte[] source = bytes;
+            byte[] target = new byte[count * entryLength];
+            for (int run = 1; run < count; run *= 2) {
+                for (int left = 0; left < count; left += 2 * run) {
+                    int mid = Math.min(left + run, count);
+                    int right = Math.min(left + 2 * run, count);
+                    merge(source, target, left, mid, right, width);
+                }
+                byte[] swap = source;
+                source = target;
+                target = swap;
+            }
+            if (source != bytes) {
+                System.arraycopy(source, 0, bytes, 0, count * entryLength);
+            }
+        }
+
+        private void merge(byte[] source, byte[] target, int left, int mid, int right, int width) {
+            int i = left;
+            int j = mid;
+            int out = left * entryLength;
+            while (i < mid && j < right) {
+                if (Arrays.compareUnsigned(source, j * entryLength, j * entryLength + width,
+                        source, i * entryLength, i * entryLength + width) < 0) {
+                    System.arraycopy(source, j++ * entryLength, target, out, entryLength);
+                } else {
+                    System.arraycopy(source, i++ * entryLength, target, out, entryLength);
+                }
+                out += entryLength;
+            }
+            System.arraycopy(source, i * entryLength, target, out, (mid - i) * entryLength);
+            out += (mid - i) * entryLength;
+            System.arraycopy(source, j * entryLength, target, out, (right - j) * entryLength);
+        }
+    }
+
+    private static int entryLength(RawColumn key) {
+        return key.getTo() - key.getFrom() + 2 * Long.BYTES;
+    }
+
+    private static byte[] header(Path source, String fingerprint, RawColumn key) throws IOException {
+        byte[] fingerprintBytes = fingerprint.getBytes(StandardCharsets.UTF_8);
+        byte[] nameBytes = key.getName().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer header = ByteBuffer.allocate(7 * Integer.BYTES + 2 * Long.BYTES + fingerprintBytes.length + nameBytes.length)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION)
+                .putInt(fingerprintBytes.length).put(fingerprintBytes)
+                .putLong(Files.size(source))
+                .putLong(Files.getLastModifiedTime(source).toMillis())
+                .putInt(nameBytes.length).put(nameBytes)
+                .putInt(key.getFrom())
+                .putInt(key.getTo());
+        // The length of the header, so that a lookup can skip it without decoding it
+        header.putInt(header.capacity());
+        return header.array();
+    }
+
+    /**
+     * Returns the length of the header of the index, checking its magic number and version.
+     */
+    private long headerLength(FileChannel channel) throws IOException {
+        ByteBuffer start = ByteBuffer.allocate(2 * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, start, 0);
+        if (start.getInt(0) != MAGIC || start.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException(file + " is not a key index of version " + VERSION);
+        }
+        // The length of the header is its last int, right before the first entry; find it from the variable parts
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, length, 2 * Integer.BYTES);
+        long namePosition = 3 * Integer.BYTES + length.getInt(0) + 2 * Long.BYTES;
+        readFully(channel, length, namePosition);
+        long headerLength = namePosition + Integer.BYTES + length.getInt(0) + 3 * Integer.BYTES;
+        readFully(channel, length, headerLength - Integer.BYTES);
+        if (length.getInt(0) != headerLength) {
+            throw new IOException("Corrupted key index " + file + ": invalid header");
+        }
+        return headerLength;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file at offset " + (position + buffer.position()));
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
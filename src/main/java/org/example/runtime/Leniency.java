@@ -0,0 +1,25 @@
+package org.example.runtime;
+
+/**
+ * Enumeration of the lines without the exact length of a record that a generated parser accepts anyway, instead of
+ * rejecting them with LENGTH_MISMATCH, see LineFitter. The "\r" of "\r\n" terminators is never part of a line, so files
+ * with Windows line endings are read without any leniency.
+ */
+public enum Leniency {
+    /**
+     * Shorter lines are read as if they were padded with spaces, e.g. when an upstream tool strips trailing spaces;
+     * the missing fields are blank.
+     */
+    PAD_SHORT,
+
+    /**
+     * Longer lines are read without the characters past the length of a record.
+     */
+    TRUNCATE_LONG,
+
+    /**
+     * Shorter lines ending within the last column, or right before it, are read as if they were padded with spaces, so
+     * only the last field can be shorter than declared. Lines ending earlier are still rejected, unless PAD_SHORT is set.
+     */
+    RAGGED_LAST_COLUMN
+}
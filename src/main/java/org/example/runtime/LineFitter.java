@@ -0,0 +1,77 @@
+package org.example.runtime;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fits the lines that do not have the exact length of a record to it, according to a set of Leniency modes, so that
+ * the fields are extracted at their usual positions without a separate pass over the file.
+ * <p>
+ * A ByteSlice is fitted without allocating: a longer line is truncated by a view over the same bytes, and a shorter
+ * line is copied into a padded buffer. Both are reused by the next call, so a LineFitter must not be shared between
+ * threads, and the fitted line is only valid until the next call. Other lines are fitted as new Strings.
+ * </p>
+ */
+public final class LineFitter {
+    private static final byte PAD = ' ';
+
+    private final int recordLength;
+    private final int lastColumnStart;
+    private final boolean padShort;
+    private final boolean truncateLong;
+    private final boolean raggedLastColumn;
+    private final byte[] padded;
+    private final ByteBuffer paddedBuffer;
+    private final ByteSlice view = new ByteSlice();
+
+    /**
+     * Constructor
+     *
+     * @param columns the columns of the schema, the last one being the column ending last.
+     */
+    public LineFitter(int recordLength, List<RawColumn> columns, Set<Leniency> leniency) {
+        this.recordLength = recordLength;
+        this.lastColumnStart = columns.stream()
+                .filter(column -> column.getTo() == recordLength)
+                .mapToInt(RawColumn::getFrom)
+                .max()
+                .orElse(recordLength);
+        this.padShort = leniency.contains(Leniency.PAD_SHORT);
+        this.truncateLong = leniency.contains(Leniency.TRUNCATE_LONG);
+        this.raggedLastColumn = leniency.contains(Leniency.RAGGED_LAST_COLUMN);
+        this.padded = new byte[recordLength];
+        this.paddedBuffer = ByteBuffer.wrap(padded);
+    }
+
+    /**
+     * Returns the line itself if it has the length of a record, the line fitted to it if one of the modes allows it,
+     * or null otherwise.
+     */
+    public CharSequence fit(CharSequence line) {
+        int length = line.length();
+        if (length == recordLength) {
+            return line;
+        }
+        if (length > recordLength) {
+            if (!truncateLong) {
+                return null;
+            }
+            if (line instanceof ByteSlice slice) {
+                return view.set(slice.buffer(), slice.offset(), recordLength);
+            }
+            return line.subSequence(0, recordLength).toString();
+        }
+
+        if (!padShort && !(raggedLastColumn && length >= lastColumnStart)) {
+            return null;
+        }
+        if (line instanceof ByteSlice slice) {
+            slice.copyTo(0, length, padded, 0);
+            Arrays.fill(padded, length, recordLength, PAD);
+            return view.set(paddedBuffer, 0, recordLength);
+        }
+        return new StringBuilder(recordLength).append(line).repeat(PAD, recordLength - length).toString();
+    }
+}
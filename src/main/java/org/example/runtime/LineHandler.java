@@ -0,0 +1,17 @@
+package org.example.runtime;
+
+/**
+ * Callback invoked by MappedLineReader for every line found in the file.
+ * <p>
+ * The ByteSlice passed in is reused for the next line, so implementations must copy anything they want to keep.
+ * </p>
+ */
+@FunctionalInterface
+public interface LineHandler {
+    /**
+     * @param line the content of the line, without the trailing '\n' or "\r\n".
+     * @param lineNo the 1-based number of the line in the file, or 0 when it is not known (e.g. in a chunk read in parallel).
+     * @param byteOffset the position of the first byte of the line in the file.
+     */
+    void onLine(ByteSlice line, long lineNo, long byteOffset);
+}
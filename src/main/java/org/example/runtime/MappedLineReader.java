@@ -0,0 +1,154 @@
+package org.example.runtime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a file line by line through memory-mapped windows of the file, without decoding the content to Strings.
+ * <p>
+ * Files larger than a single window (and therefore larger than the 2 GB limit of one MappedByteBuffer) are read by
+ * mapping consecutive windows, each one starting at the first line that did not fit completely in the previous window.
+ * Lines are terminated by '\n' or "\r\n", and the last line of the file does not need a terminator.
+ * </p>
+ * <p>
+ * Newlines are found with a ByteScanner, by default ByteScanners.preferred(). The scalar one scans the mapped windows
+ * in place, and the lines are handed over as slices of them. When the scanner prefers heap buffers, as the vectorized
+ * one does, every window is copied block by block into a heap buffer and the lines are handed over as slices of that
+ * block instead, so that the fields are trimmed by the same scanner. A block grows when a single line does not fit in
+ * it.
+ * </p>
+ */
+public final class MappedLineReader {
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+    public static final int BLOCK_SIZE = 1 << 16;
+
+    private final int windowSize;
+    private final ByteScanner scanner;
+
+    /**
+     * Constructor
+     */
+    public MappedLineReader() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    public MappedLineReader(int windowSize) {
+        this(windowSize, ByteScanners.preferred());
+    }
+
+    public MappedLineReader(int windowSize, ByteScanner scanner) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize must be positive: " + windowSize);
+        }
+        this.windowSize = windowSize;
+        this.scanner = scanner;
+    }
+
+    /**
+     * Reads every line of the file.
+     *
+     * @param path path to the file.
+     * @param handler callback invoked for each line.
+     * @return the number of bytes consumed, i.e. the offset right after the last line read.
+     * @throws IOException if an I/O error occurs while mapping the file.
+     */
+    public long read(Path path, LineHandler handler) throws IOException {
+        return read(path, 0, Long.MAX_VALUE, 1, handler);
+    }
+
+    /**
+     * Reads every line whose first byte lies in [from, to). The caller is responsible for making sure that from is the
+     * first byte of a line.
+     *
+     * @param path path to the file.
+     * @param from offset of the first line to read.
+     * @param to offset at which no new line is started anymore; the line crossing it is still read completely.
+     * @param firstLineNo the line number reported for the line starting at from, or 0 if it is not known, e.g. for a
+     *                    chunk in the middle of the file, in which case every line is reported with 0.
+     * @param handler callback invoked for each line.
+     * @return the offset right after the last line read.
+     * @throws IOException if an I/O error occurs while mapping the file, or if a single line does not fit in a window.
+     */
+    public long read(Path path, long from, long to, long firstLineNo, LineHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel, from, to, firstLineNo, handler);
+        }
+    }
+
+    /**
+     * Same as {@link #read(Path, long, long, long, LineHandler)} on an already opened channel, which is left open.
+     */
+    public long read(FileChannel channel, long from, long to, long firstLineNo, LineHandler handler) throws IOException {
+        long size = channel.size();
+        long end = Math.min(to, size);
+        long pos = from;
+        long[] lineNo = {firstLineNo};
+        ByteSlice slice = new ByteSlice();
+        ByteBuffer block = scanner.prefersHeapBuffers() ? ByteBuffer.allocate((int) Math.min(BLOCK_SIZE, windowSize)) : null;
+
+        while (pos < end) {
+            int limit = (int) Math.min(windowSize, size - pos);
+            boolean lastWindow = pos + limit == size;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, pos, limit);
+
+            int i;
+            if (block == null) {
+                i = readLines(buffer, limit, lastWindow, pos, end, lineNo, slice, handler);
+            } else {
+                i = 0;
+                while (pos + i < end) {
+                    int length = Math.min(block.capacity(), limit - i);
+                    buffer.get(i, block.array(), 0, length);
+                    int read = readLines(block, length, lastWindow && i + length == limit, pos + i, end, lineNo, slice, handler);
+                    if (read == 0) {
+                        if (i + length == limit) {
+                            // The line continues past this window: remap starting at this line
+                            break;
+                        }
+                        // The line is longer than the block
+                        block = ByteBuffer.allocate((int) Math.min(2L * block.capacity(), windowSize));
+                    }
+                    i += read;
+                }
+            }
+
+            if (i == 0) {
+                throw new IOException("Line at offset " + pos + " is longer than the mapping window of " + windowSize + " bytes.");
+            }
+            pos += i;
+        }
+        return pos;
+    }
+
+    /**
+     * Hands over the lines of buffer[0, limit), which starts at offset pos of the file, until a line would start at end.
+     * A last line without terminator is only handed over if last is set.
+     *
+     * @return the index right after the last line handed over.
+     */
+    private int readLines(ByteBuffer buffer, int limit, boolean last, long pos, long end, long[] lineNo, ByteSlice slice,
+                          LineHandler handler) {
+        int i = 0;
+        while (pos + i < end) {
+            int nl = scanner.indexOf(buffer, i, limit, (byte) '\n');
+            int next;
+            if (nl >= 0) {
+                next = nl + 1;
+            } else if (last) {
+                nl = limit;
+                next = limit;
+            } else {
+                break;
+            }
+
+            int lineEnd = nl > i && buffer.get(nl - 1) == '\r' ? nl - 1 : nl;
+            handler.onLine(slice.set(buffer, i, lineEnd - i), lineNo[0] == 0 ? 0 : lineNo[0]++, pos + i);
+            i = next;
+        }
+        return i;
+    }
+}
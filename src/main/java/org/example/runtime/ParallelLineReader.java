@@ -0,0 +1,142 @@
+package org.example.runtime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Splits a file of fixed-width records into chunks that start at line boundaries and processes the chunks concurrently.
+ * <p>
+ * Since every valid record is exactly recordLength bytes followed by '\n', chunk boundaries are first placed at a
+ * multiple of that stride. A boundary is accepted as is when the preceding byte is a newline; otherwise (malformed lines,
+ * "\r\n" terminators) it is moved forward to the start of the next line, so the result is correct for any file.
+ * </p>
+ */
+public final class ParallelLineReader {
+    private static final int SCAN_BUFFER_SIZE = 8192;
+
+    /**
+     * Work done on a single chunk. Chunks run concurrently, so an implementation must only touch shared state in a
+     * thread-safe way.
+     */
+    @FunctionalInterface
+    public interface ChunkTask<T> {
+        /**
+         * @param channel the file, shared by all chunks.
+         * @param from offset of the first line of the chunk.
+         * @param to offset of the first line of the next chunk.
+         * @return the result of the chunk.
+         */
+        T run(FileChannel channel, long from, long to) throws IOException;
+    }
+
+    private final ExecutorService executor;
+    private final int chunks;
+
+    /**
+     * Constructor
+     */
+    public ParallelLineReader(ExecutorService executor, int chunks) {
+        if (chunks <= 0) {
+            throw new IllegalArgumentException("chunks must be positive: " + chunks);
+        }
+        this.executor = executor;
+        this.chunks = chunks;
+    }
+
+    /**
+     * Splits the file into chunks and runs the task on each of them.
+     *
+     * @param path path to the file.
+     * @param recordLength the length of a valid record, excluding the line terminator.
+     * @param task the work done on each chunk.
+     * @return the results of the chunks, in file order.
+     * @throws IOException if an I/O error occurs in any of the chunks.
+     */
+    public <T> List<T> run(Path path, int recordLength, ChunkTask<T> task) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] bounds = split(channel, recordLength, chunks);
+
+            List<Future<T>> futures = new ArrayList<>(chunks);
+            for (int i = 0; i < chunks; i++) {
+                long from = bounds[i];
+                long to = bounds[i + 1];
+                futures.add(executor.submit(() -> task.run(channel, from, to)));
+            }
+
+            List<T> results = new ArrayList<>(chunks);
+            try {
+                for (Future<T> future : futures) {
+                    results.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                throw new IOException("Interrupted while waiting for the chunks of " + path, e);
+            } catch (ExecutionException e) {
+                futures.forEach(f -> f.cancel(true));
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException ioException) {
+                    throw ioException;
+                }
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IOException("Failed to process a chunk of " + path, cause);
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Computes chunk boundaries such that every boundary is the start of a line.
+     *
+     * @return chunks + 1 offsets, starting with 0 and ending with the size of the file. Consecutive offsets may be
+     * equal, in which case the chunk is empty.
+     */
+    public static long[] split(FileChannel channel, int recordLength, int chunks) throws IOException {
+        long size = channel.size();
+        long stride = recordLength + 1L;
+        long records = Math.max(1, size / stride);
+        long recordsPerChunk = (records + chunks - 1) / chunks;
+
+        long[] bounds = new long[chunks + 1];
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        for (int i = 1; i < chunks; i++) {
+            long target = Math.min(size, i * recordsPerChunk * stride);
+            bounds[i] = Math.max(bounds[i - 1], lineStartAtOrAfter(channel, target, size, buffer));
+        }
+        bounds[chunks] = size;
+        return bounds;
+    }
+
+    private static long lineStartAtOrAfter(FileChannel channel, long target, long size, ByteBuffer buffer) throws IOException {
+        if (target <= 0 || target >= size) {
+            return Math.max(0, Math.min(target, size));
+        }
+
+        // Scan from the byte before the target: if it is a newline, the target is already a line start
+        long pos = target - 1;
+        while (pos < size) {
+            buffer.clear();
+            int read = channel.read(buffer, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+        return size;
+    }
+}
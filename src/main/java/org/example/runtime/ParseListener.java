@@ -0,0 +1,72 @@
+package org.example.runtime;
+
+import java.util.List;
+
+/**
+ * Receives instrumentation events from a generated FixedLengthParser.
+ * <p>
+ * Every method has an empty default implementation, so a listener only overrides the events it needs. Events are
+ * emitted from the parsing threads, so a listener used with the parallel entry points must be thread-safe, and every
+ * method should be cheap since onRecord is called once per record.
+ * </p>
+ */
+public interface ParseListener {
+    /**
+     * A listener that ignores every event, used when no listener is set.
+     */
+    ParseListener NONE = new ParseListener() {
+    };
+
+    /**
+     * Called by setParseListener of the parser the listener is attached to.
+     *
+     * @param columnNames the names of the columns of the parser, in the order of their indexes.
+     * @throws IllegalArgumentException if the listener does not fit these columns; it is not attached then.
+     */
+    default void onAttached(List<String> columnNames) {
+    }
+
+    default void onFileStart(String filePath) {
+    }
+
+    /**
+     * @param chars the number of characters of the line, plus one for its terminator.
+     */
+    default void onRecord(int chars) {
+    }
+
+    /**
+     * @param chars the number of characters of the line, plus one for its terminator.
+     */
+    default void onReject(RejectReason reason, int chars) {
+    }
+
+    /**
+     * Called for the lines skipped because they do not match the RawFilter of the parser.
+     *
+     * @param chars the number of characters of the line, plus one for its terminator.
+     */
+    default void onFiltered(int chars) {
+    }
+
+    /**
+     * @param nanos the wall time spent on the file.
+     */
+    default void onFileEnd(String filePath, long nanos) {
+    }
+
+    /**
+     * Returns whether the parser should time the conversion of every column and call onColumnConverted.
+     * This costs two System.nanoTime() calls per column, so it is disabled by default.
+     */
+    default boolean isColumnTimingEnabled() {
+        return false;
+    }
+
+    /**
+     * @param columnIndex the 0-based index of the column in the schema.
+     * @param nanos the time spent extracting and converting the value.
+     */
+    default void onColumnConverted(int columnIndex, long nanos) {
+    }
+}
@@ -0,0 +1,235 @@
+package org.example.runtime;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * A thread-safe ParseListener that accumulates counters and timers over every file parsed, and can be exposed as an MBean.
+ * <p>
+ * Counters are LongAdders, so recording an event is a single uncontended add even when several threads parse in
+ * parallel, which keeps the overhead low enough to leave the metrics on in production. Only the start and the end of
+ * a file take a lock, to measure the wall time during which at least one file is being parsed.
+ * </p>
+ */
+public class ParseMetrics implements ParseListener, ParseMetricsMXBean {
+    private final List<String> columnNames;
+    private final LongAdder files = new LongAdder();
+    private final LongAdder records = new LongAdder();
+    private final LongAdder filtered = new LongAdder();
+    private final LongAdder chars = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final Object elapsedLock = new Object();
+    private int activeFiles;
+    private long activeSince;
+    private long elapsedNanos;
+    private final Map<RejectReason, LongAdder> rejects = new EnumMap<>(RejectReason.class);
+    private final LongAdder[] columnNanos;
+
+    /**
+     * Constructor, without timing of the columns.
+     */
+    public ParseMetrics() {
+        this(List.of());
+    }
+
+    /**
+     * Constructor, with timing of the given columns, e.g. FixedLengthParser.COLUMN_NAMES.
+     */
+    public ParseMetrics(List<String> columnNames) {
+        this.columnNames = List.copyOf(columnNames);
+        for (RejectReason reason : RejectReason.values()) {
+            rejects.put(reason, new LongAdder());
+        }
+        columnNanos = new LongAdder[columnNames.size()];
+        for (int i = 0; i < columnNanos.length; i++) {
+            columnNanos[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Registers this object in the platform MBean server as "org.example:type=ParseMetrics,name=&lt;name&gt;".
+     *
+     * @return the name it was registered with.
+     * @throws JMException if the name is invalid or already registered.
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName("org.example:type=ParseMetrics,name=" + ObjectName.quote(name));
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /**
+     * Checks that the columns timed by this object are the ones of the parser.
+     */
+    @Override
+    public void onAttached(List<String> columnNames) {
+        if (isColumnTimingEnabled() && columnNames.size() != this.columnNames.size()) {
+            throw new IllegalArgumentException("The metrics time the columns " + this.columnNames
+                    + " but the parser has the columns " + columnNames);
+        }
+    }
+
+    @Override
+    public void onFileStart(String filePath) {
+        files.increment();
+        synchronized (elapsedLock) {
+            if (activeFiles++ == 0) {
+                activeSince = System.nanoTime();
+            }
+        }
+    }
+
+    @Override
+    public void onRecord(int chars) {
+        records.increment();
+        this.chars.add(chars);
+    }
+
+    @Override
+    public void onReject(RejectReason reason, int chars) {
+        rejects.get(reason).increment();
+        this.chars.add(chars);
+    }
+
+    @Override
+    public void onFiltered(int chars) {
+        filtered.increment();
+        this.chars.add(chars);
+    }
+
+    @Override
+    public void onFileEnd(String filePath, long nanos) {
+        this.nanos.add(nanos);
+        synchronized (elapsedLock) {
+            if (--activeFiles == 0) {
+                elapsedNanos += System.nanoTime() - activeSince;
+            }
+        }
+    }
+
+    @Override
+    public boolean isColumnTimingEnabled() {
+        return columnNanos.length > 0;
+    }
+
+    @Override
+    public void onColumnConverted(int columnIndex, long nanos) {
+        columnNanos[columnIndex].add(nanos);
+    }
+
+    @Override
+    public long getFilesParsed() {
+        return files.sum();
+    }
+
+    @Override
+    public long getRecordsParsed() {
+        return records.sum();
+    }
+
+    @Override
+    public long getRecordsRejected() {
+        long total = 0;
+        for (LongAdder count : rejects.values()) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public Map<String, Long> getRecordsRejectedByReason() {
+        Map<String, Long> byReason = new LinkedHashMap<>();
+        rejects.forEach((reason, count) -> byReason.put(reason.name(), count.sum()));
+        return byReason;
+    }
+
+    @Override
+    public long getRecordsFiltered() {
+        return filtered.sum();
+    }
+
+    /**
+     * Returns the number of characters of the lines read, plus one per line for its terminator. This is not the size
+     * of the files read, which also counts the '\r' of "\r\n" terminators, the bytes of multi-byte characters, and
+     * is smaller for compressed files.
+     */
+    @Override
+    public long getCharsRead() {
+        return chars.sum();
+    }
+
+    /**
+     * Returns the wall time spent on each file parsed so far, summed over the files. Files parsed concurrently are
+     * counted several times, see getElapsedNanos.
+     */
+    @Override
+    public long getParseNanos() {
+        return nanos.sum();
+    }
+
+    /**
+     * Returns the wall time during which at least one file was being parsed, including the file in progress.
+     */
+    @Override
+    public long getElapsedNanos() {
+        synchronized (elapsedLock) {
+            return activeFiles == 0 ? elapsedNanos : elapsedNanos + System.nanoTime() - activeSince;
+        }
+    }
+
+    /**
+     * Returns the number of records parsed per second of getElapsedNanos.
+     */
+    @Override
+    public double getRecordsPerSecond() {
+        long elapsed = getElapsedNanos();
+        return elapsed == 0 ? 0 : records.sum() * 1_000_000_000.0 / elapsed;
+    }
+
+    @Override
+    public Map<String, Long> getColumnConversionNanos() {
+        Map<String, Long> byColumn = new LinkedHashMap<>();
+        for (int i = 0; i < columnNanos.length; i++) {
+            byColumn.put(columnNames.get(i), columnNanos[i].sum());
+        }
+        return byColumn;
+    }
+
+    @Override
+    public void reset() {
+        files.reset();
+        records.reset();
+        filtered.reset();
+        chars.reset();
+        nanos.reset();
+        synchronized (elapsedLock) {
+            elapsedNanos = 0;
+            activeSince = System.nanoTime();
+        }
+        rejects.values().forEach(LongAdder::reset);
+        for (LongAdder column : columnNanos) {
+            column.reset();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ParseMetrics{" +
+                "files=" + getFilesParsed() +
+                ", records=" + getRecordsParsed() +
+                ", rejects=" + getRecordsRejectedByReason() +
+                ", filtered=" + getRecordsFiltered() +
+                ", chars=" + getCharsRead() +
+                ", nanos=" + getParseNanos() +
+                ", elapsedNanos=" + getElapsedNanos() +
+                '}';
+    }
+}
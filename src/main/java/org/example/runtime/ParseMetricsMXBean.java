@@ -0,0 +1,30 @@
+package org.example.runtime;
+
+import java.util.Map;
+
+/**
+ * JMX view of a ParseMetrics.
+ */
+public interface ParseMetricsMXBean {
+    long getFilesParsed();
+
+    long getRecordsParsed();
+
+    long getRecordsRejected();
+
+    Map<String, Long> getRecordsRejectedByReason();
+
+    long getRecordsFiltered();
+
+    long getCharsRead();
+
+    long getParseNanos();
+
+    long getElapsedNanos();
+
+    double getRecordsPerSecond();
+
+    Map<String, Long> getColumnConversionNanos();
+
+    void reset();
+}
@@ -0,0 +1,150 @@
+package org.example.runtime;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * An InputStream that reads its source ahead on a background thread, e.g. to decompress a file while the previous
+ * bytes are being parsed.
+ * <p>
+ * A fixed set of buffers circulates between the two threads: the background thread fills free buffers from the source
+ * and queues them, and the reading thread hands them back once it has consumed them, so no memory is allocated after
+ * the construction. The source is closed by the background thread, once it is exhausted or the stream is closed.
+ * </p>
+ */
+public final class PipelinedInputStream extends InputStream {
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    public static final int DEFAULT_BUFFER_COUNT = 4;
+
+    private static final class Chunk {
+        final byte[] data;
+        int length;
+
+        Chunk(byte[] data) {
+            this.data = data;
+        }
+    }
+
+    private static final Chunk END = new Chunk(new byte[0]);
+
+    private final InputStream source;
+    private final BlockingQueue<Chunk> free;
+    private final BlockingQueue<Chunk> filled;
+    private final Thread producer;
+    private volatile Throwable failure;
+    private volatile boolean closed;
+    private Chunk current;
+    private int position;
+    private boolean eof;
+
+    /**
+     * Constructor
+     */
+    public PipelinedInputStream(InputStream source) {
+        this(source, DEFAULT_BUFFER_SIZE, DEFAULT_BUFFER_COUNT);
+    }
+
+    public PipelinedInputStream(InputStream source, int bufferSize, int bufferCount) {
+        if (bufferSize <= 0 || bufferCount <= 0) {
+            throw new IllegalArgumentException("bufferSize and bufferCount must be positive: " + bufferSize + ", " + bufferCount);
+        }
+        this.source = Objects.requireNonNull(source);
+        this.free = new ArrayBlockingQueue<>(bufferCount);
+        // One more slot for the END marker
+        this.filled = new ArrayBlockingQueue<>(bufferCount + 1);
+        for (int i = 0; i < bufferCount; i++) {
+            free.add(new Chunk(new byte[bufferSize]));
+        }
+        this.producer = new Thread(this::fill, "pipelined-input");
+        this.producer.setDaemon(true);
+        this.producer.start();
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] one = new byte[1];
+        return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (!nextChunk()) {
+            return -1;
+        }
+        int n = Math.min(len, current.length - position);
+        System.arraycopy(current.data, position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        producer.interrupt();
+    }
+
+    /**
+     * Makes sure that current has bytes left to read, and returns false at the end of the source.
+     */
+    private boolean nextChunk() throws IOException {
+        while (!eof && (current == null || position == current.length)) {
+            if (current != null) {
+                free.add(current);
+                current = null;
+            }
+            Chunk next;
+            try {
+                next = filled.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the source");
+            }
+            if (next == END) {
+                eof = true;
+                if (failure != null) {
+                    throw new IOException("Failed to read the source", failure);
+                }
+            } else {
+                current = next;
+                position = 0;
+            }
+        }
+        return !eof;
+    }
+
+    private void fill() {
+        try (source) {
+            while (!closed) {
+                Chunk chunk = free.take();
+                chunk.length = source.readNBytes(chunk.data, 0, chunk.data.length);
+                if (chunk.length == 0) {
+                    break;
+                }
+                filled.put(chunk);
+            }
+        } catch (InterruptedException e) {
+            // Closed by the reading thread
+        } catch (Throwable e) {
+            // Including the RuntimeExceptions and Errors of the source or its codec, which the reader must see too
+            failure = e;
+        } finally {
+            if (!closed) {
+                filled.add(END);
+            }
+        }
+    }
+}
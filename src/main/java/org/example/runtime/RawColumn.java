@@ -0,0 +1,110 @@
+package org.example.runtime;
+
+import java.util.function.LongPredicate;
+
+/**
+ * The position of a column in the lines parsed by a generated FixedLengthParser, used to build RawFilters that compare
+ * the raw characters of the column without extracting it.
+ * <p>
+ * Offsets are 0-based with an exclusive end, as in Fields. Like Fields, the comparisons ignore leading and trailing
+ * whitespace, and a blank numeric value is read as 0. A value that is not a number never matches a numeric comparison.
+ * </p>
+ */
+public final class RawColumn {
+    private final String name;
+    private final int from;
+    private final int to;
+
+    /**
+     * Constructor
+     */
+    public RawColumn(String name, int from, int to) {
+        this.name = name;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Getters
+     */
+    public String getName() {
+        return name;
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    public int getTo() {
+        return to;
+    }
+
+    /**
+     * Matches the lines where the trimmed column equals the value.
+     */
+    public RawFilter equalTo(CharSequence value) {
+        return line -> {
+            int start = Fields.skipLeading(line, from, to);
+            int end = Fields.skipTrailing(line, start, to);
+            if (end - start != value.length()) {
+                return false;
+            }
+            for (int i = start; i < end; i++) {
+                if (line.charAt(i) != value.charAt(i - start)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Matches the lines where the trimmed column is the single character c.
+     */
+    public RawFilter equalTo(char c) {
+        return line -> {
+            int start = Fields.skipLeading(line, from, to);
+            return Fields.skipTrailing(line, start, to) == start + 1 && line.charAt(start) == c;
+        };
+    }
+
+    public RawFilter isBlank() {
+        return line -> Fields.skipLeading(line, from, to) == to;
+    }
+
+    public RawFilter greaterThan(long value) {
+        return numeric(actual -> actual > value);
+    }
+
+    public RawFilter lessThan(long value) {
+        return numeric(actual -> actual < value);
+    }
+
+    /**
+     * Matches the lines where the column is a number within [min, max].
+     */
+    public RawFilter between(long min, long max) {
+        return numeric(actual -> actual >= min && actual <= max);
+    }
+
+    private RawFilter numeric(LongPredicate predicate) {
+        return line -> {
+            long actual;
+            try {
+                actual = Fields.parseLong(line, from, to);
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+            return predicate.test(actual);
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "RawColumn{" +
+                "name='" + name + '\'' +
+                ", from=" + from +
+                ", to=" + to +
+                '}';
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.runtime;
+
+/**
+ * A predicate evaluated by a generated FixedLengthParser on the raw characters of a line, before any field is
+ * converted and before the Record is built. Lines that do not match are skipped, without being rejected.
+ * <p>
+ * Filters are usually built from the RawColumn of a parser, e.g. {@code parser.column("age").greaterThan(30)}, and
+ * combined with and, or and negate.
+ * </p>
+ */
+@FunctionalInterface
+public interface RawFilter {
+    /**
+     * A filter that matches every line, used when no filter is set.
+     */
+    RawFilter ALL = line -> true;
+
+    /**
+     * @param line a line of the length of the record, only valid during the call.
+     */
+    boolean test(CharSequence line);
+
+    default RawFilter and(RawFilter other) {
+        return line -> test(line) && other.test(line);
+    }
+
+    default RawFilter or(RawFilter other) {
+        return line -> test(line) || other.test(line);
+    }
+
+    default RawFilter negate() {
+        return line -> !test(line);
+    }
+}
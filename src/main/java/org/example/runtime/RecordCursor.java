@@ -0,0 +1,99 @@
+package org.example.runtime;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A reusable, mutable view over the current line of a file, handed by the forEachCursor method of a generated
+ * FixedLengthParser instead of a new Record per line.
+ * <p>
+ * The same cursor is repositioned over every line, so it is only valid during the callback. Fields are converted
+ * lazily, when their accessor is called, which means a value that does not follow its column type is reported by the
+ * accessor with an IllegalArgumentException rather than rejected by the parser. The primitive accessors and getChars,
+ * which returns a view over the mapped bytes, do not allocate anything. The generated Cursor subclass adds one
+ * accessor per column, named after it.
+ * </p>
+ *
+ * @param <R> the generated Record class.
+ */
+public abstract class RecordCursor<R> {
+    private final int[] froms;
+    private final int[] tos;
+    private final ByteSlice view = new ByteSlice();
+    private ByteSlice line;
+    private long lineNo;
+    private long byteOffset;
+
+    /**
+     * Constructor
+     */
+    protected RecordCursor(List<RawColumn> columns) {
+        froms = new int[columns.size()];
+        tos = new int[columns.size()];
+        for (int i = 0; i < froms.length; i++) {
+            froms[i] = columns.get(i).getFrom();
+            tos[i] = columns.get(i).getTo();
+        }
+    }
+
+    /**
+     * Repositions the cursor over a line; called by the parser before every callback.
+     */
+    public void moveTo(ByteSlice line, long lineNo, long byteOffset) {
+        this.line = line;
+        this.lineNo = lineNo;
+        this.byteOffset = byteOffset;
+    }
+
+    /**
+     * Getters
+     */
+    public ByteSlice line() {
+        return line;
+    }
+
+    public long lineNo() {
+        return lineNo;
+    }
+
+    public long byteOffset() {
+        return byteOffset;
+    }
+
+    public int getInt(int column) {
+        return Fields.parseInt(line, froms[column], tos[column]);
+    }
+
+    public long getLong(int column) {
+        return Fields.parseLong(line, froms[column], tos[column]);
+    }
+
+    public char getChar(int column) {
+        return Fields.parseChar(line, froms[column], tos[column]);
+    }
+
+    public BigDecimal getDecimal(int column) {
+        return Fields.parseDecimal(line, froms[column], tos[column]);
+    }
+
+    public LocalDate getDate(int column) {
+        return Fields.parseDate(line, froms[column], tos[column]);
+    }
+
+    public String getString(int column) {
+        return Fields.trimmed(line, froms[column], tos[column]);
+    }
+
+    /**
+     * Returns the trimmed column as a view over the line, which is only valid until the next call of this method.
+     */
+    public CharSequence getChars(int column) {
+        return Fields.trimmedView(line, froms[column], tos[column], view);
+    }
+
+    /**
+     * Converts every column of the current line into a new Record.
+     */
+    public abstract R toRecord();
+}
@@ -0,0 +1,71 @@
+package org.example.runtime;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * The API implemented by every generated FixedLengthParser, so that parsers generated and loaded at runtime can be used
+ * without knowing their concrete class.
+ *
+ * @param <R> the generated Record class.
+ */
+public interface RecordParser<R> {
+    void setParseListener(ParseListener listener);
+
+    void setRejectSink(RejectSink rejectSink);
+
+    void setProjection(Collection<String> columnNames);
+
+    RawColumn column(String columnName);
+
+    void setFilter(RawFilter filter);
+
+    void setInputCodecs(List<InputCodec> inputCodecs);
+
+    void setLeniency(Set<Leniency> leniency);
+
+    List<R> parseFile(String filePath) throws IOException;
+
+    void forEach(String filePath, Consumer<? super R> consumer) throws IOException;
+
+    Stream<R> stream(String filePath) throws IOException;
+
+    void forEachMapped(String filePath, Consumer<? super R> consumer) throws IOException;
+
+    List<R> parseFileParallel(String filePath) throws IOException;
+
+    List<R> parseFileParallel(String filePath, ExecutorService executor, int chunks) throws IOException;
+
+    void forEachParallel(String filePath, ExecutorService executor, int chunks, Consumer<? super R> consumer) throws IOException;
+
+    ColumnBatch newBatch(int capacity);
+
+    void forEachBatch(String filePath, int batchSize, Consumer<? super ColumnBatch> consumer) throws IOException;
+
+    void writeColumnarCache(String filePath, String cachePath, int batchSize) throws IOException;
+
+    void forEachBatchCached(String filePath, String cachePath, int batchSize, Consumer<? super ColumnBatch> consumer) throws IOException;
+
+    long buildIndex(String filePath, String columnName, String indexPath) throws IOException;
+
+    List<R> lookup(String filePath, String columnName, String indexPath, CharSequence key) throws IOException;
+
+    void forEachSorted(String filePath, List<SortKey> keys, long memoryBudget, Consumer<? super R> consumer) throws IOException;
+
+    <A, T> void aggregate(String filePath, List<SortKey> keys, long memoryBudget, Collector<? super R, A, T> collector,
+                          BiConsumer<? super List<String>, ? super T> consumer) throws IOException;
+
+    void forEachCursor(String filePath, Consumer<? super RecordCursor<R>> consumer) throws IOException;
+
+    void follow(FileFollower follower, Consumer<? super R> consumer) throws IOException;
+
+    Checkpoint forEachCheckpointed(String filePath, Checkpoint from, long interval, Consumer<? super R> consumer,
+                                   CheckpointHandler onCheckpoint) throws IOException;
+}
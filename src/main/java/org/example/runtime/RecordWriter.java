@@ -0,0 +1,24 @@
+package org.example.runtime;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * The operations of every generated FixedLengthWriter, so that writers loaded at runtime by SchemaCompiler can be used
+ * without reflection, as with RecordParser.
+ *
+ * @param <R> the generated Record class.
+ */
+public interface RecordWriter<R> extends Closeable {
+    void write(R record) throws IOException;
+
+    default void writeAll(Iterable<? extends R> records) throws IOException {
+        for (R record : records) {
+            write(record);
+        }
+    }
+
+    void flush() throws IOException;
+
+    long getRecordsWritten();
+}
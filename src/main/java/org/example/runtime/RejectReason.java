@@ -0,0 +1,25 @@
+package org.example.runtime;
+
+/**
+ * Enumeration of the reasons why a line of a data file is not turned into a Record.
+ */
+public enum RejectReason {
+    LENGTH_MISMATCH("it does not follow the schema."),
+    CONVERSION_ERROR("it does not follow the schema: ");
+
+    private final String message;
+
+    /**
+     * Constructor
+     */
+    RejectReason(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Returns the end of the sentence "Data '...' is not parsed as ", with the detail appended if there is one.
+     */
+    public String getMessage(String detail) {
+        return detail == null ? message : message + detail;
+    }
+}
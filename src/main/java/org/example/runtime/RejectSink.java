@@ -0,0 +1,34 @@
+package org.example.runtime;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Receives the lines of a data file that a generated FixedLengthParser does not turn into a Record.
+ * <p>
+ * The line passed to reject is only valid during the call, since it may be a ByteSlice that is reused for the next line.
+ * See RejectSinks for the available implementations.
+ * </p>
+ */
+@FunctionalInterface
+public interface RejectSink extends Closeable {
+    /**
+     * @param line the content of the rejected line.
+     * @param lineNo the 1-based number of the line, or 0 if it is not known.
+     * @param byteOffset the position of the line in the file, or -1 if it is not known.
+     * @param reason why the line is rejected.
+     * @param detail a description of the problem, or null.
+     */
+    void reject(CharSequence line, long lineNo, long byteOffset, RejectReason reason, String detail);
+
+    /**
+     * Called by the parser at the end of every file, so that buffered rejects are written out.
+     */
+    default void flush() throws IOException {
+    }
+
+    @Override
+    default void close() throws IOException {
+        flush();
+    }
+}
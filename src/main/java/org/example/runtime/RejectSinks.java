@@ -0,0 +1,270 @@
+package org.example.runtime;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.example.exceptions.RejectLimitExceededException;
+
+/**
+ * Factory methods for the RejectSink implementations.
+ */
+public final class RejectSinks {
+    public static final int DEFAULT_QUEUE_CAPACITY = 8192;
+
+    private RejectSinks() {
+    }
+
+    /**
+     * Prints every rejected line to System.out, synchronously. This is the default of the generated parsers.
+     */
+    public static RejectSink console() {
+        return (line, lineNo, byteOffset, reason, detail) ->
+                System.out.println("Data '" + line + "' is not parsed as " + reason.getMessage(detail));
+    }
+
+    /**
+     * Only counts the rejected lines.
+     */
+    public static CountingRejectSink countOnly() {
+        return new CountingRejectSink();
+    }
+
+    /**
+     * Forwards one rejected line out of every n to the delegate, starting with the first one.
+     */
+    public static RejectSink sampled(RejectSink delegate, int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be positive: " + n);
+        }
+        AtomicLong seen = new AtomicLong();
+        return new ForwardingRejectSink(delegate) {
+            @Override
+            public void reject(CharSequence line, long lineNo, long byteOffset, RejectReason reason, String detail) {
+                if (seen.getAndIncrement() % n == 0) {
+                    delegate.reject(line, lineNo, byteOffset, reason, detail);
+                }
+            }
+        };
+    }
+
+    /**
+     * Forwards every rejected line to the delegate, and aborts the parse with a RejectLimitExceededException once more
+     * than maxRejects lines have been rejected.
+     */
+    public static RejectSink failFast(RejectSink delegate, long maxRejects) {
+        AtomicLong seen = new AtomicLong();
+        return new ForwardingRejectSink(delegate) {
+            @Override
+            public void reject(CharSequence line, long lineNo, long byteOffset, RejectReason reason, String detail) {
+                delegate.reject(line, lineNo, byteOffset, reason, detail);
+                if (seen.incrementAndGet() > maxRejects) {
+                    throw new RejectLimitExceededException("More than " + maxRejects + " lines were rejected, the last one at line "
+                            + lineNo + " (byte offset " + byteOffset + ") because " + reason.getMessage(detail));
+                }
+            }
+        };
+    }
+
+    /**
+     * Writes every rejected line to a file, from a background thread. Each line of the file is tab-separated:
+     * line number, byte offset, reason, detail and the content of the rejected line.
+     *
+     * @throws IOException if the file cannot be created.
+     */
+    public static RejectSink toFile(Path file) throws IOException {
+        BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        RejectSink fileSink = new RejectSink() {
+            @Override
+            public void reject(CharSequence line, long lineNo, long byteOffset, RejectReason reason, String detail) {
+                try {
+                    writer.append(Long.toString(lineNo)).append('\t')
+                            .append(Long.toString(byteOffset)).append('\t')
+                            .append(reason.name()).append('\t')
+                            .append(detail == null ? "" : detail).append('\t')
+                            .append(line).append('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                writer.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                writer.close();
+            }
+        };
+        return async(fileSink, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Hands rejected lines over to a background thread, which forwards them to the delegate in batches, so that a slow
+     * delegate does not stall the parse loop. The parse loop only blocks when capacity rejects are already waiting.
+     */
+    public static RejectSink async(RejectSink delegate, int capacity) {
+        return new AsyncRejectSink(delegate, capacity);
+    }
+
+    private abstract static class ForwardingRejectSink implements RejectSink {
+        final RejectSink delegate;
+
+        ForwardingRejectSink(RejectSink delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+
+    private static final class AsyncRejectSink implements RejectSink {
+        private static final int BATCH_SIZE = 1024;
+        private static final long FLUSH_POLL_MILLIS = 100;
+
+        private record Reject(String line, long lineNo, long byteOffset, RejectReason reason, String detail) {
+        }
+
+        private record Flush(CountDownLatch done) {
+        }
+
+        private final RejectSink delegate;
+        private final BlockingQueue<Object> queue;
+        private final Thread worker;
+        private volatile Throwable failure;
+        private volatile boolean closed;
+
+        AsyncRejectSink(RejectSink delegate, int capacity) {
+            this.delegate = delegate;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.worker = new Thread(this::drain, "reject-sink");
+            this.worker.setDaemon(true);
+            this.worker.start();
+        }
+
+        @Override
+        public void reject(CharSequence line, long lineNo, long byteOffset, RejectReason reason, String detail) {
+            if (closed) {
+                throw new IllegalStateException("The reject sink is closed");
+            }
+            // The line is copied since it may be reused by the parser once this method returns
+            enqueue(new Reject(line.toString(), lineNo, byteOffset, reason, detail));
+        }
+
+        /**
+         * Waits until every line rejected so far is written out.
+         *
+         * @throws IllegalStateException if the sink is closed, as the worker thread is gone.
+         */
+        @Override
+        public void flush() throws IOException {
+            if (closed) {
+                throw new IllegalStateException("The reject sink is closed");
+            }
+            Flush flush = new Flush(new CountDownLatch(1));
+            enqueue(flush);
+            try {
+                // The worker may exit right after a concurrent close, before reaching this flush
+                while (!flush.done().await(FLUSH_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (!worker.isAlive() && flush.done().getCount() > 0) {
+                        throw new IllegalStateException("The reject sink was closed while flushing");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while flushing the rejected lines");
+            }
+            if (failure != null) {
+                throw new IOException("Failed to write the rejected lines", failure);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            try {
+                flush();
+            } finally {
+                closed = true;
+                worker.interrupt();
+                delegate.close();
+            }
+        }
+
+        private void enqueue(Object entry) {
+            try {
+                queue.put(entry);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while queuing a rejected line", e);
+            }
+        }
+
+        private void drain() {
+            try {
+                drainUntilClosed();
+            } finally {
+                // Release the flushes still queued, so that no caller waits for a worker that is gone
+                for (Object entry : queue) {
+                    if (entry instanceof Flush f) {
+                        f.done().countDown();
+                    }
+                }
+            }
+        }
+
+        private void drainUntilClosed() {
+            List<Object> batch = new ArrayList<>(BATCH_SIZE);
+            while (!closed) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    return;
+                }
+                queue.drainTo(batch, BATCH_SIZE - 1);
+
+                for (Object entry : batch) {
+                    if (entry instanceof Reject r) {
+                        if (failure == null) {
+                            try {
+                                delegate.reject(r.line(), r.lineNo(), r.byteOffset(), r.reason(), r.detail());
+                            } catch (RuntimeException e) {
+                                failure = e;
+                            }
+                        }
+                    } else if (entry instanceof Flush f) {
+                        try {
+                            delegate.flush();
+                        } catch (IOException | RuntimeException e) {
+                            failure = e;
+                        }
+                        f.done().countDown();
+                    }
+                }
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.runtime;
+
+/**
+ * A column to sort the lines of a file by, with ExternalSorter.
+ * <p>
+ * Text keys compare the trimmed bytes of the column, so that left-aligned values sort alphabetically whatever their
+ * padding. Number keys compare the column parsed as a long, so that right-aligned and negative values sort numerically;
+ * a line whose number key cannot be parsed is rejected before the sort.
+ * </p>
+ */
+public final class SortKey {
+    private final RawColumn column;
+    private final boolean number;
+    private final boolean descending;
+
+    private SortKey(RawColumn column, boolean number, boolean descending) {
+        this.column = column;
+        this.number = number;
+        this.descending = descending;
+    }
+
+    /**
+     * Returns an ascending key comparing the trimmed bytes of the column.
+     */
+    public static SortKey text(RawColumn column) {
+        return new SortKey(column, false, false);
+    }
+
+    /**
+     * Returns an ascending key comparing the column as a long.
+     */
+    public static SortKey number(RawColumn column) {
+        return new SortKey(column, true, false);
+    }
+
+    /**
+     * Returns the same key in descending order.
+     */
+    public SortKey descending() {
+        return new SortKey(column, number, true);
+    }
+
+    /**
+     * Getters
+     */
+    public RawColumn getColumn() {
+        return column;
+    }
+
+    public boolean isNumber() {
+        return number;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    @Override
+    public String toString() {
+        return column.getName() + (number ? " number" : " text") + (descending ? " descending" : " ascending");
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.runtime;
+
+import java.nio.ByteBuffer;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A ByteScanner comparing a whole vector of bytes at once with the Vector API, loaded by ByteScanners only when the
+ * jdk.incubator.vector module is available.
+ * <p>
+ * Searches use the widest vectors of the CPU up to 64 bytes, while blanks are looked for 16 bytes at a time, since
+ * fields are short and usually padded with only a few blanks. The lanes of a comparison are turned into the bits of a
+ * long, so that the first or last match is found with a single bit count. A vector may be loaded across the bounds of the range, as long
+ * as it stays within the array, and the lanes outside of the range are masked out of the bits.
+ * </p>
+ * <p>
+ * The Vector API of JDK 21 can only load vectors from arrays without preview features, so direct buffers such as
+ * a MappedByteBuffer are scanned by ByteScanners.SCALAR.
+ * </p>
+ */
+final class VectorByteScanner implements ByteScanner {
+    // VectorMask.toLong holds at most 64 lanes, which the preferred species exceeds on e.g. 2048-bit SVE
+    private static final VectorSpecies<Byte> SEARCH =
+            ByteVector.SPECIES_PREFERRED.length() > Long.SIZE ? ByteVector.SPECIES_512 : ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BLANKS = ByteVector.SPECIES_128;
+    private static final byte BLANK = ' ';
+
+    /**
+     * Constructor
+     *
+     * @throws UnsupportedOperationException if the CPU has no vectors of at least 16 bytes.
+     */
+    VectorByteScanner() {
+        if (SEARCH.length() < BLANKS.length()) {
+            throw new UnsupportedOperationException("The preferred vectors are only " + SEARCH.vectorBitSize() + " bits wide");
+        }
+    }
+
+    @Override
+    public String name() {
+        return "vector" + SEARCH.vectorBitSize();
+    }
+
+    @Override
+    public boolean prefersHeapBuffers() {
+        return true;
+    }
+
+    @Override
+    public int indexOf(ByteBuffer buffer, int from, int to, byte value) {
+        if (!buffer.hasArray()) {
+            return ByteScanners.SCALAR.indexOf(buffer, from, to, value);
+        }
+        byte[] array = buffer.array();
+        int base = buffer.arrayOffset();
+        int lanes = SEARCH.length();
+        int i = from;
+        for (; i < to && base + i + lanes <= array.length; i += lanes) {
+            long bits = ByteVector.fromArray(SEARCH, array, base + i).eq(value).toLong();
+            if (to - i < lanes) {
+                bits &= (1L << (to - i)) - 1;
+            }
+            if (bits != 0) {
+                return i + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        for (; i < to; i++) {
+            if (array[base + i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int skipLeadingBlanks(ByteBuffer buffer, int from, int to) {
+        if (!buffer.hasArray()) {
+            return ByteScanners.SCALAR.skipLeadingBlanks(buffer, from, to);
+        }
+        byte[] array = buffer.array();
+        int base = buffer.arrayOffset();
+        int lanes = BLANKS.length();
+        for (; from < to && base + from + lanes <= array.length; from += lanes) {
+            long bits = nonBlanks(array, base + from);
+            if (to - from < lanes) {
+                bits &= (1L << (to - from)) - 1;
+            }
+            if (bits != 0) {
+                return from + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        for (; from < to; from++) {
+            if ((array[base + from] & 0xFF) > BLANK) {
+                return from;
+            }
+        }
+        return to;
+    }
+
+    @Override
+    public int skipTrailingBlanks(ByteBuffer buffer, int from, int to) {
+        if (!buffer.hasArray()) {
+            return ByteScanners.SCALAR.skipTrailingBlanks(buffer, from, to);
+        }
+        byte[] array = buffer.array();
+        int base = buffer.arrayOffset();
+        int lanes = BLANKS.length();
+        for (; to > from && base + to - lanes >= 0; to -= lanes) {
+            int start = to - lanes;
+            long bits = nonBlanks(array, base + start);
+            if (start < from) {
+                bits &= -1L << (from - start);
+            }
+            if (bits != 0) {
+                return start + Long.SIZE - Long.numberOfLeadingZeros(bits);
+            }
+        }
+        for (; to > from; to--) {
+            if ((array[base + to - 1] & 0xFF) > BLANK) {
+                return to;
+            }
+        }
+        return from;
+    }
+
+    @Override
+    public String toString() {
+        return name();
+    }
+
+    /**
+     * Returns a bit per byte of array[index, index + 16), set if the byte is not blank.
+     */
+    private static long nonBlanks(byte[] array, int index) {
+        return ByteVector.fromArray(BLANKS, array, index).compare(VectorOperators.UNSIGNED_GT, BLANK).toLong();
+    }
+}
@@ -1,13 +1,45 @@
 package org.example;
 
+import org.example.exceptions.RejectLimitExceededException;
+import org.example.runtime.Checkpoint;
+import org.example.runtime.CheckpointStore;
+import org.example.runtime.ExternalSorter;
+import org.example.runtime.Leniency;
+import org.example.runtime.ParseMetrics;
+import org.example.runtime.RejectSink;
+import org.example.runtime.RejectSinks;
+import org.example.runtime.SortKey;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.management.ObjectName;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class FixedLengthParserTest {
+    // Exact, ragged last column, missing last column, trailing spaces stripped into the name, long, and CRLF lines
+    private static final String LENIENT_DATA = "John Doe            M  25\n" +
+            "Jane Smith          F  3\n" +
+            "Jim Beam            M\n" +
+            "Joe\n" +
+            "Ann Lee             F  41 extra\n" +
+            "Bob Ray             M  52\r\n";
+
+    @TempDir
+    Path tempDir;
+
     @Test
     void parseFile_valid1_data1() {
         parseFile_valid1("src/test/resources/valid1_data1.txt");
@@ -41,6 +73,497 @@ class FixedLengthParserTest {
         }
     }
 
+    @Test
+    void stream_valid1_data2() {
+        try {
+            FixedLengthParser testedParser = new FixedLengthParser();
+
+            List<Record> actualRecords;
+            try (Stream<Record> records = testedParser.stream("src/test/resources/valid1_data2.txt")) {
+                actualRecords = records.toList();
+            }
+
+            List<Record> expectedRecords = new ArrayList<>();
+            expectedRecords.add(new Record("John Doe", "M", "25"));
+            expectedRecords.add(new Record("Jane Smith", "F", "30"));
+
+            assertEquals(expectedRecords.toString(), actualRecords.toString(), "stream_valid1_data2 should return the expected records.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void forEach_valid1_data1() {
+        try {
+            FixedLengthParser testedParser = new FixedLengthParser();
+
+            List<Record> actualRecords = new ArrayList<>();
+            testedParser.forEach("src/test/resources/valid1_data1.txt", actualRecords::add);
+
+            assertEquals(testedParser.parseFile("src/test/resources/valid1_data1.txt").toString(), actualRecords.toString(),
+                    "forEach_valid1_data1 should deliver the same records as parseFile.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void forEachMapped_valid1_data2() {
+        try {
+            FixedLengthParser testedParser = new FixedLengthParser();
+
+            List<Record> actualRecords = new ArrayList<>();
+            testedParser.forEachMapped("src/test/resources/valid1_data2.txt", actualRecords::add);
+
+            assertEquals(testedParser.parseFile("src/test/resources/valid1_data2.txt").toString(), actualRecords.toString(),
+                    "forEachMapped_valid1_data2 should deliver the same records as parseFile.");
+            assertEquals(2, actualRecords.size(), "There should be 2 records.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void parseFileParallel_valid1_data2() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            FixedLengthParser testedParser = new FixedLengthParser();
+
+            // More chunks than records, so that some chunks are empty and some start at a malformed line
+            List<Record> actualRecords = testedParser.parseFileParallel("src/test/resources/valid1_data2.txt", executor, 8);
+
+            assertEquals(testedParser.parseFile("src/test/resources/valid1_data2.txt").toString(), actualRecords.toString(),
+                    "parseFileParallel_valid1_data2 should return the same records in the same order as parseFile.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void forEachParallel_rejectLineNumbers() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            StringBuilder content = new StringBuilder();
+            for (int i = 0; i < 100; i++) {
+                content.append(i % 10 == 9 ? "bad\n" : "John Doe            M  25\n");
+            }
+            Path dataFile = Files.writeString(tempDir.resolve("data.txt"), content);
+            List<Long> rejectedLineNos = new ArrayList<>();
+            FixedLengthParser testedParser = new FixedLengthParser();
+            testedParser.setRejectSink((line, lineNo, byteOffset, reason, detail) -> {
+                synchronized (rejectedLineNos) {
+                    rejectedLineNos.add(lineNo);
+                }
+            });
+
+            testedParser.forEachParallel(dataFile.toString(), executor, 4, record -> { });
+
+            assertEquals(10, rejectedLineNos.size(), "Every malformed line should be rejected.");
+            // A line number counted from the start of a chunk would be wrong, so the lines of chunks are not numbered
+            assertTrue(rejectedLineNos.stream().allMatch(lineNo -> lineNo == 0),
+                    "The line numbers of chunked reads should be unknown: " + rejectedLineNos);
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void parseFile_metrics() {
+        try {
+            FixedLengthParser testedParser = new FixedLengthParser();
+            ParseMetrics metrics = new ParseMetrics(FixedLengthParser.COLUMN_NAMES);
+            testedParser.setParseListener(metrics);
+
+            testedParser.parseFile("src/test/resources/valid1_data2.txt");
+
+            assertEquals(1, metrics.getFilesParsed(), "There should be 1 file.");
+            assertEquals(2, metrics.getRecordsParsed(), "There should be 2 records.");
+            assertEquals(2, metrics.getRecordsRejectedByReason().get("LENGTH_MISMATCH"), "There should be 2 lines with an unexpected length.");
+            assertEquals(26 + 28 + 26 + 25, metrics.getCharsRead(), "Every line and its terminator should be counted.");
+            assertEquals(FixedLengthParser.COLUMN_NAMES, List.copyOf(metrics.getColumnConversionNanos().keySet()), "Every column should be timed.");
+            assertTrue(metrics.getParseNanos() > 0, "The wall time should be recorded.");
+            assertTrue(metrics.getElapsedNanos() > 0, "The elapsed wall time should be recorded.");
+            assertThrows(IllegalArgumentException.class, () -> testedParser.setParseListener(new ParseMetrics(List.of("name"))),
+                    "Metrics timing other columns should not be attached.");
+
+            ObjectName name = metrics.register("parseFile_metrics");
+            assertEquals(2L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "RecordsParsed"), "The metrics should be readable through JMX.");
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void forEachMapped_rejectFile() {
+        try {
+            FixedLengthParser testedParser = new FixedLengthParser();
+            Path rejects = tempDir.resolve("rejects.txt");
+
+            try (RejectSink sink = RejectSinks.toFile(rejects)) {
+                testedParser.setRejectSink(sink);
+                testedParser.forEachMapped("src/test/resources/valid1_data2.txt", record -> { });
+
+                // The sink is flushed at the end of the file, before it is closed
+                List<String> expectedLines = List.of(
+                        "2\t26\tLENGTH_MISMATCH\t\tMary Angelina Joanna  F  17",
+                        "4\t80\tLENGTH_MISMATCH\t\tPeter              M  45");
+                assertEquals(expectedLines, Files.readAllLines(rejects), "forEachMapped_rejectFile should write the line number and byte offset of every rejected line.");
+            }
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void parseFile_failFast() {
+        FixedLengthParser testedParser = new FixedLengthParser();
+        testedParser.setRejectSink(RejectSinks.failFast(RejectSinks.countOnly(), 1));
+
+        RejectLimitExceededException exception = assertThrows(RejectLimitExceededException.class,
+                () -> testedParser.parseFile("src/test/resources/valid1_data2.txt"));
+        assertTrue(exception.getMessage().contains("at line 4"), "The parse should be aborted at the second rejected line.");
+    }
+
+    @Test
+    void parseFile_projection() {
+        try {
+            FixedLengthParser testedParser = new FixedLengthParser();
+            testedParser.setProjection(List.of("name", "age"));
+
+            List<Record> actualRecords = testedParser.parseFile("src/test/resources/valid1_data1.txt");
+
+            List<Record> expectedRecords = new ArrayList<>();
+            Record rec1 = new Record("John Doe", null, "25");
+            Record rec2 = new Record("Jane Smith", null, "30");
+            expectedRecords.add(rec1);
+            expectedRecords.add(rec2);
+
+            assertEquals(expectedRecords.toString(), actualRecords.toString(), "parseFile_projection should only extract the projected columns.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void setProjection_unknownColumn() {
+        FixedLengthParser testedParser = new FixedLengthParser();
+
+        assertThrows(IllegalArgumentException.class, () -> testedParser.setProjection(List.of("name", "salary")), "An unknown column should not be accepted.");
+    }
+
+    @Test
+    void parseFile_filter() {
+        try {
+            FixedLengthParser testedParser = new FixedLengthParser();
+            ParseMetrics metrics = new ParseMetrics();
+            testedParser.setParseListener(metrics);
+            testedParser.setFilter(testedParser.column("gender").equalTo('F').and(testedParser.column("age").greaterThan(26)));
+
+            List<Record> actualRecords = testedParser.parseFile("src/test/resources/valid1_data1.txt");
+
+            List<Record> expectedRecords = new ArrayList<>();
+            Record rec1 = new Record("Jane Smith", "F", "30");
+            expectedRecords.add(rec1);
+
+            assertEquals(expectedRecords.toString(), actualRecords.toString(), "parseFile_filter should only return the matching records.");
+            assertEquals(1, metrics.getRecordsFiltered(), "There should be 1 line skipped by the filter.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void parseFile_gzip() {
+        try {
+            Path compressed = tempDir.resolve("valid1_data1.txt.gz");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+                Files.copy(Path.of("src/test/resources/valid1_data1.txt"), out);
+            }
+            FixedLengthParser testedParser = new FixedLengthParser();
+
+            List<Record> expectedRecords = testedParser.parseFile("src/test/resources/valid1_data1.txt");
+            List<Record> actualRecords = testedParser.parseFile(compressed.toString());
+            List<Record> streamedRecords;
+            try (Stream<Record> stream = testedParser.stream(compressed.toString())) {
+                streamedRecords = stream.toList();
+            }
+
+            assertEquals(expectedRecords.toString(), actualRecords.toString(), "parseFile should decompress the gzip file.");
+            assertEquals(expectedRecords.toString(), streamedRecords.toString(), "stream should decompress the gzip file.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void forEachBatchCached_valid1_data1() {
+        try {
+            Path data = Files.copy(Path.of("src/test/resources/valid1_data1.txt"), tempDir.resolve("data.txt"));
+            String cachePath = tempDir.resolve("data.cache").toString();
+            FixedLengthParser testedParser = new FixedLengthParser();
+            ParseMetrics metrics = new ParseMetrics();
+            testedParser.setParseListener(metrics);
+            testedParser.setProjection(List.of("name", "age"));
+
+            List<String> firstRead = new ArrayList<>();
+            testedParser.forEachBatchCached(data.toString(), cachePath, 16, batch -> {
+                for (int row = 0; row < batch.size(); row++) {
+                    firstRead.add(batch.getString(0, row) + "|" + batch.getString(1, row) + "|" + batch.getString(2, row));
+                }
+            });
+            List<String> secondRead = new ArrayList<>();
+            testedParser.setProjection(null);
+            testedParser.forEachBatchCached(data.toString(), cachePath, 16, batch -> {
+                for (int row = 0; row < batch.size(); row++) {
+                    secondRead.add(batch.getString(0, row) + "|" + batch.getString(1, row) + "|" + batch.getString(2, row));
+                }
+            });
+
+            assertEquals(List.of("John Doe||25", "Jane Smith||30"), firstRead, "Only the projected columns should be read from the cache.");
+            assertEquals(List.of("John Doe|M|25", "Jane Smith|F|30"), secondRead, "The cache should hold every column.");
+            assertEquals(2, metrics.getRecordsParsed(), "The file should only be parsed once.");
+
+            Files.writeString(data, "Peter Pan           M  17\n");
+            List<String> thirdRead = new ArrayList<>();
+            testedParser.forEachBatchCached(data.toString(), cachePath, 16, batch -> {
+                for (int row = 0; row < batch.size(); row++) {
+                    thirdRead.add(batch.getString(0, row));
+                }
+            });
+            assertEquals(List.of("Peter Pan"), thirdRead, "The cache should be rebuilt once the file changes.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void forEachSorted_valid1_data1() {
+        try {
+            FixedLengthParser testedParser = new FixedLengthParser();
+            List<Record> actualRecords = new ArrayList<>();
+            testedParser.forEachSorted("src/test/resources/valid1_data1.txt", List.of(SortKey.number(testedParser.column("age")).descending()),
+                    ExternalSorter.DEFAULT_MEMORY_BUDGET, actualRecords::add);
+
+            List<Record> expectedRecords = new ArrayList<>();
+            expectedRecords.add(new Record("Jane Smith", "F", "30"));
+            expectedRecords.add(new Record("John Doe", "M", "25"));
+            assertEquals(expectedRecords.toString(), actualRecords.toString(), "forEachSorted should hand the records over by descending age.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void aggregate_rejectsUnsortableLines() {
+        try {
+            Path dataFile = Files.writeString(tempDir.resolve("data.txt"),
+                    "John Doe            M  25\nJane Smith          F  30\nJim Beam            M  4x\nJoe Black           M  40\n");
+            List<String> rejects = new ArrayList<>();
+            FixedLengthParser testedParser = new FixedLengthParser();
+            testedParser.setRejectSink((line, lineNo, byteOffset, reason, detail) -> rejects.add(reason + ":" + lineNo));
+
+            List<String> groups = new ArrayList<>();
+            testedParser.aggregate(dataFile.toString(), List.of(SortKey.text(testedParser.column("gender")), SortKey.number(testedParser.column("age"))), 4096,
+                    Collectors.counting(), (key, count) -> groups.add(key + "=" + count));
+
+            assertEquals(List.of("[F, 30]=1", "[M, 25]=1", "[M, 40]=1"), groups, "aggregate should count the records of every key.");
+            assertEquals(List.of("CONVERSION_ERROR:3"), rejects, "A line whose sort key cannot be converted should be rejected.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void forEachMapped_lenient() {
+        try {
+            Path dataFile = Files.writeString(tempDir.resolve("data.txt"), LENIENT_DATA);
+            List<String> rejects = new ArrayList<>();
+            FixedLengthParser testedParser = new FixedLengthParser();
+            testedParser.setRejectSink((line, lineNo, byteOffset, reason, detail) -> rejects.add(reason + ":" + lineNo));
+            testedParser.setLeniency(EnumSet.of(Leniency.RAGGED_LAST_COLUMN, Leniency.TRUNCATE_LONG));
+
+            List<Record> actualRecords = new ArrayList<>();
+            testedParser.forEachMapped(dataFile.toString(), actualRecords::add);
+
+            List<Record> expectedRecords = new ArrayList<>();
+            expectedRecords.add(new Record("John Doe", "M", "25"));
+            expectedRecords.add(new Record("Jane Smith", "F", "3"));
+            expectedRecords.add(new Record("Jim Beam", "M", ""));
+            expectedRecords.add(new Record("Ann Lee", "F", "41"));
+            expectedRecords.add(new Record("Bob Ray", "M", "52"));
+            assertEquals(expectedRecords.toString(), actualRecords.toString(), "Ragged and long lines should be fitted to the record length.");
+            assertEquals(List.of("LENGTH_MISMATCH:4"), rejects, "A line ending before the last column should still be rejected.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void forEach_padShort() {
+        try {
+            Path dataFile = Files.writeString(tempDir.resolve("data.txt"), LENIENT_DATA);
+            List<String> rejects = new ArrayList<>();
+            FixedLengthParser testedParser = new FixedLengthParser();
+            testedParser.setRejectSink((line, lineNo, byteOffset, reason, detail) -> rejects.add(reason + ":" + lineNo));
+            testedParser.setLeniency(EnumSet.of(Leniency.PAD_SHORT));
+
+            List<Record> actualRecords = new ArrayList<>();
+            testedParser.forEach(dataFile.toString(), actualRecords::add);
+
+            List<Record> expectedRecords = new ArrayList<>();
+            expectedRecords.add(new Record("John Doe", "M", "25"));
+            expectedRecords.add(new Record("Jane Smith", "F", "3"));
+            expectedRecords.add(new Record("Jim Beam", "M", ""));
+            expectedRecords.add(new Record("Joe", "", ""));
+            expectedRecords.add(new Record("Bob Ray", "M", "52"));
+            assertEquals(expectedRecords.toString(), actualRecords.toString(), "Every short line should be padded.");
+            assertEquals(List.of("LENGTH_MISMATCH:5"), rejects, "A long line should still be rejected.");
+
+            testedParser.setLeniency(EnumSet.noneOf(Leniency.class));
+            assertEquals(2, testedParser.parseFile(dataFile.toString()).size(), "Only the lines of the record length should be parsed by default.");
+            testedParser.setLeniency(EnumSet.of(Leniency.PAD_SHORT));
+            testedParser.setLeniency(null);
+            assertEquals(2, testedParser.parseFile(dataFile.toString()).size(), "null should restore the default leniency.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void lookup_valid1_data1() {
+        try {
+            String indexPath = tempDir.resolve("valid1_data1.gender.idx").toString();
+            FixedLengthParser testedParser = new FixedLengthParser();
+            ParseMetrics metrics = new ParseMetrics();
+            testedParser.setParseListener(metrics);
+
+            List<Record> actualRecords = testedParser.lookup("src/test/resources/valid1_data1.txt", "gender", indexPath, "F");
+            assertEquals(1, metrics.getFilesParsed(), "lookup should report the file to the listener.");
+            assertEquals(1, metrics.getRecordsParsed(), "lookup should report the records it parsed.");
+
+            List<Record> expectedRecords = new ArrayList<>();
+            expectedRecords.add(new Record("Jane Smith", "F", "30"));
+            assertEquals(expectedRecords.toString(), actualRecords.toString(), "lookup should return the records of the key.");
+            assertTrue(testedParser.lookup("src/test/resources/valid1_data1.txt", "gender", indexPath, "X").isEmpty(),
+                    "lookup should return no record for a missing key.");
+            assertEquals("[Record {name='John Doe', gender='M', age='25'}]",
+                    testedParser.lookup("src/test/resources/valid1_data1.txt", "name", indexPath, "John Doe").toString(),
+                    "lookup should rebuild the index for another column.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void forEachCursor_valid1_data2() {
+        try {
+            FixedLengthParser testedParser = new FixedLengthParser();
+
+            List<String> actualNames = new ArrayList<>();
+            List<Long> actualLineNos = new ArrayList<>();
+            List<Record> actualRecords = new ArrayList<>();
+            testedParser.forEachCursor("src/test/resources/valid1_data2.txt", cursor -> {
+                FixedLengthParser.Cursor row = (FixedLengthParser.Cursor) cursor;
+                actualNames.add(row.getNameChars().toString());
+                actualLineNos.add(row.lineNo());
+                actualRecords.add(row.toRecord());
+            });
+
+            assertEquals(List.of("John Doe", "Jane Smith"), actualNames, "forEachCursor_valid1_data2 should move the cursor over the valid lines.");
+            assertEquals(List.of(1L, 3L), actualLineNos, "The cursor should know the number of its line.");
+            assertEquals("[Record {name='John Doe', gender='M', age='25'}, Record {name='Jane Smith', gender='F', age='30'}]",
+                    actualRecords.toString(), "toRecord should convert every column.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void forEachCheckpointed_resume() {
+        try {
+            FixedLengthParser testedParser = new FixedLengthParser();
+            testedParser.setRejectSink(RejectSinks.countOnly());
+            CheckpointStore store = new CheckpointStore(tempDir.resolve("checkpoint"));
+            List<String> committed = new ArrayList<>();
+            List<String> pending = new ArrayList<>();
+
+            // The first run dies on the second record, after the checkpoint at line 3
+            assertThrows(IllegalStateException.class, () -> testedParser.forEachCheckpointed("src/test/resources/valid1_data2.txt", store.load(), 2,
+                    record -> {
+                        if (record.getName().equals("Jane Smith")) {
+                            throw new IllegalStateException("crash");
+                        }
+                        pending.add(record.getName());
+                    },
+                    checkpoint -> {
+                        committed.addAll(pending);
+                        pending.clear();
+                        store.save(checkpoint);
+                    }));
+            assertEquals(new Checkpoint(54, 3, 1, 1), store.load(), "The checkpoint should be saved every 2 lines.");
+
+            pending.clear();
+            Checkpoint last = testedParser.forEachCheckpointed("src/test/resources/valid1_data2.txt", store.load(), 2,
+                    record -> pending.add(record.getName()),
+                    checkpoint -> {
+                        committed.addAll(pending);
+                        pending.clear();
+                        store.save(checkpoint);
+                    });
+
+            assertEquals(List.of("John Doe", "Jane Smith"), committed, "Every record should be committed exactly once.");
+            assertEquals(new Checkpoint(104, 5, 2, 2), last, "The last checkpoint should be at the end of the file.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void writer_overlappingColumns_roundTrip() {
+        try {
+            // In valid1.schema, gender starts at the last character of name
+            Path dataFile = tempDir.resolve("data.txt");
+            try (FixedLengthWriter writer = new FixedLengthWriter(dataFile.toString())) {
+                writer.write(new Record("John Doe", "M", "25"));
+                assertThrows(IllegalArgumentException.class, () -> writer.write(new Record("Maximilian Alexander", "M", "40")),
+                        "A name reaching into the character shared with gender should be rejected.");
+                writer.write(new Record("Jane Smith", "F", "30"));
+            }
+
+            List<Record> actualRecords = new FixedLengthParser().parseFile(dataFile.toString());
+
+            assertEquals("[Record {name='John Doe', gender='M', age='25'}, Record {name='Jane Smith', gender='F', age='30'}]",
+                    actualRecords.toString(), "Every written Record should be parsed back unchanged.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
 //    @Test
 //    void parseFile_valid2_data() {
 //        try {
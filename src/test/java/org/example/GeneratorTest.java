@@ -4,18 +4,23 @@ import org.example.exceptions.SchemaValidationError;
 import org.example.exceptions.SchemaValidationException;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class GeneratorTest {
     Generator testedGenerator = new Generator();
+    @TempDir
+    Path tempDir;
     static List<Column> expectedValidCols1 = new ArrayList<>();
     static List<Column> expectedValidCols2 = new ArrayList<>();
 
@@ -104,6 +109,36 @@ class GeneratorTest {
         }
     }
 
+    @Test
+    void splitLine_typeAndDictionary() {
+        try {
+            List<String> actualCol = testedGenerator.splitLine("first name 1 10 string dict");
+
+            assertEquals(List.of("first name", "1", "10", "string", "dict"), actualCol, "splitLine_typeAndDictionary should return the options after the indexes.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void splitLine_type() {
+        try {
+            List<String> actualCol = testedGenerator.splitLine("first name 1 10 int");
+            List<String> expectedCol = new ArrayList<>();
+            expectedCol.add("first name");
+            expectedCol.add("1");
+            expectedCol.add("10");
+            expectedCol.add("int");
+
+            assertEquals(expectedCol, actualCol, "splitLine_type should return the expected list.");
+            assertEquals(4, actualCol.size(), "There should be 4 strings.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
     @Test
     void parseSchemaFile_valid1() {
         try {
@@ -197,6 +232,65 @@ class GeneratorTest {
         }
     }
 
+    @Test
+    void parseSchemaFile_typed() {
+        try {
+            List<Column> actualCols = testedGenerator.parseSchemaFile("src/test/resources/typed.schema");
+
+            List<Column> expectedCols = new ArrayList<>();
+            expectedCols.add(new Column("id", 1, 8, ColumnType.LONG));
+            expectedCols.add(new Column("name", 9, 28, ColumnType.STRING));
+            expectedCols.add(new Column("gender", 29, 29, ColumnType.CHAR));
+            expectedCols.add(new Column("age", 30, 32, ColumnType.INT));
+            expectedCols.add(new Column("balance", 33, 44, ColumnType.DECIMAL));
+            expectedCols.add(new Column("joined", 45, 54, ColumnType.DATE));
+
+            assertEquals(expectedCols.toString(), actualCols.toString(), "parseSchemaFile_typed should return the expected columns.");
+            assertEquals(6, actualCols.size(), "There should be 6 columns.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void parseSchemaFile_invalidType() {
+        // Test that the correct exception is thrown
+        SchemaValidationException thrown = assertThrows(SchemaValidationException.class, () -> {
+            testedGenerator.parseSchemaFile("src/test/resources/invalidType.schema");
+        });
+
+        // Verify the exception message
+        assertEquals(SchemaValidationError.INVALID_COLUMN_TYPE.getMessage("integer", 2, "age 21 23 integer"), thrown.getMessage());
+    }
+
+    @Test
+    void parseSchemaFile_dictionary() {
+        try {
+            List<Column> actualCols = testedGenerator.parseSchemaFile("src/test/resources/dictionary.schema");
+
+            assertEquals(3, actualCols.size(), "There should be 3 columns.");
+            assertFalse(actualCols.get(0).isDictionary(), "name should not be dictionary-encoded.");
+            assertTrue(actualCols.get(1).isDictionary(), "gender should be dictionary-encoded.");
+            assertEquals(ColumnType.STRING, actualCols.get(1).getType(), "gender should default to a string column.");
+            assertEquals(ColumnType.INT, actualCols.get(2).getType(), "age should be an int column.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void parseSchemaFile_invalidDictionary() {
+        // Test that the correct exception is thrown
+        SchemaValidationException thrown = assertThrows(SchemaValidationException.class, () -> {
+            testedGenerator.parseSchemaFile("src/test/resources/invalidDictionary.schema");
+        });
+
+        // Verify the exception message
+        assertEquals(SchemaValidationError.INVALID_DICTIONARY_COLUMN.getMessage("age", 2, "age 21 23 int dict"), thrown.getMessage());
+    }
+
     @Test
     void parseSchemaFile_extraspace1() {
         // Test that the correct exception is thrown
@@ -318,12 +412,55 @@ class GeneratorTest {
         }
     }
 
+    @Test
+    void writeFLWClass_valid1() {
+        try {
+            testedGenerator.writeFLWClass(expectedValidCols1, "src/test/resources/FixedLengthWriter.txt");
+            assertTrue(areFilesEqual("src/test/resources/ExampleFLW_valid1.txt", "src/test/resources/FixedLengthWriter.txt"));
+        } catch (IOException e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void writeFLWClass_valid2() {
+        try {
+            testedGenerator.writeFLWClass(expectedValidCols2, "src/test/resources/FixedLengthWriter.txt");
+            assertTrue(areFilesEqual("src/test/resources/ExampleFLW_valid2.txt", "src/test/resources/FixedLengthWriter.txt"));
+        } catch (IOException e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
     @Test
     void generateRecordAndFLP_valid1() {
         try {
             testedGenerator.generateRecordAndFLP("src/test/resources/valid1.schema");
             assertTrue(areFilesEqual("src/test/resources/ExampleRecord_valid1.txt", "src/main/java/org/example/Record.java"));
             assertTrue(areFilesEqual("src/test/resources/ExampleFLP_valid1.txt", "src/main/java/org/example/FixedLengthParser.java"));
+            assertTrue(areFilesEqual("src/test/resources/ExampleFLW_valid1.txt", "src/main/java/org/example/FixedLengthWriter.java"));
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void generateAll_valid() {
+        try {
+            Map<String, String> actualPackages = testedGenerator.generateAll(
+                    List.of("src/test/resources/valid1.schema", "src/test/resources/valid2.schema"), "org.test", tempDir.toString());
+
+            assertEquals(Map.of("src/test/resources/valid1.schema", "org.test.valid1", "src/test/resources/valid2.schema", "org.test.valid2"),
+                    actualPackages, "generateAll_valid should return the package of every schema.");
+            String record = Files.readString(tempDir.resolve("org/test/valid2/Record.java"));
+            String expectedRecord = Files.readString(Paths.get("src/test/resources/ExampleRecord_valid2.txt"))
+                    .replace("package org.example;", "package org.test.valid2;");
+            assertEquals(expectedRecord, record, "The Record class should be generated in the package of the schema.");
+            assertTrue(Files.exists(tempDir.resolve("org/test/valid1/FixedLengthParser.java")), "The FixedLengthParser class should be generated.");
+            assertTrue(Files.exists(tempDir.resolve("org/test/valid1/FixedLengthWriter.java")), "The FixedLengthWriter class should be generated.");
         } catch (Exception e) {
             // Fail the test if an exception is thrown
             fail("Exception should not have been thrown: " + e.getMessage());
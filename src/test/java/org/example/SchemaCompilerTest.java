@@ -0,0 +1,127 @@
+package org.example;
+
+import org.example.runtime.ColumnBatch;
+import org.example.runtime.RecordParser;
+import org.example.runtime.RecordWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaCompilerTest {
+    SchemaCompiler testedCompiler = new SchemaCompiler();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void compile_sideBySide() {
+        try {
+            CompiledSchema schema1 = testedCompiler.compile("src/test/resources/valid1.schema");
+            CompiledSchema schema2 = testedCompiler.compile("src/test/resources/valid2.schema");
+
+            assertNotEquals(schema1.getPackageName(), schema2.getPackageName(), "Each schema should be compiled into its own package.");
+            assertNotEquals(schema1.getRecordClass(), schema2.getRecordClass(), "Each schema should have its own Record class.");
+
+            List<Object> records1 = schema1.newParser().parseFile("src/test/resources/valid1_data1.txt");
+            List<Object> records2 = schema2.newParser().parseFile("src/test/resources/valid2_data.txt");
+
+            assertEquals("[Record {name='John Doe', gender='M', age='25'}, Record {name='Jane Smith', gender='F', age='30'}]",
+                    records1.toString(), "The first schema should parse its data file.");
+            assertEquals("[Record {balance='2500', date='12-12-2012'}, Record {balance='100', date='01-01-2024'}]",
+                    records2.toString(), "The second schema should parse its data file.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void compile_typed() {
+        try {
+            List<Column> cols = List.of(new Column("balance", 1, 10, ColumnType.LONG), new Column("date", 11, 20));
+            CompiledSchema schema = testedCompiler.compile(cols);
+
+            RecordParser<Object> parser = schema.newParser();
+            List<Object> records = parser.parseFile("src/test/resources/valid2_data.txt");
+
+            assertEquals(2, records.size(), "There should be 2 records.");
+            assertEquals(2500L, schema.accessor("balance").apply(records.getFirst()), "balance should be parsed as a long.");
+            assertEquals("01-01-2024", schema.accessor("date").apply(records.getLast()), "date should be parsed as a String.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void compile_forEachBatch() {
+        try {
+            List<Column> cols = List.of(new Column("balance", 1, 10, ColumnType.LONG), new Column("date", 11, 20));
+            RecordParser<Object> parser = testedCompiler.compile(cols).newParser();
+
+            List<Long> balances = new ArrayList<>();
+            List<String> dates = new ArrayList<>();
+            parser.forEachBatch("src/test/resources/valid2_data.txt", 1, batch -> {
+                assertEquals(ColumnBatch.Kind.LONG, batch.kind(0), "balance should be stored as longs.");
+                for (int row = 0; row < batch.size(); row++) {
+                    balances.add(batch.longs(0)[row]);
+                    dates.add(batch.getString(1, row));
+                }
+            });
+
+            assertEquals(List.of(2500L, 100L), balances, "compile_forEachBatch should fill the long column of every batch.");
+            assertEquals(List.of("12-12-2012", "01-01-2024"), dates, "compile_forEachBatch should fill the string column of every batch.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void compile_dictionary() {
+        try {
+            CompiledSchema schema = testedCompiler.compile("src/test/resources/dictionary.schema");
+
+            List<Object> records = schema.newParser().parseFile("src/test/resources/valid1_data1.txt");
+
+            assertEquals("[Record {name='John Doe', gender='M', age='25'}, Record {name='Jane Smith', gender='F', age='30'}]",
+                    records.toString(), "compile_dictionary should parse the dictionary-encoded column.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void compile_writerRoundTrip() {
+        try {
+            CompiledSchema schema = testedCompiler.compile("src/test/resources/typed.schema");
+            Path data = tempDir.resolve("typed.txt");
+            Files.writeString(data, "       1John Doe            M 25      -12.502012-12-12\n"
+                    + "-9999999Jane Smith                            20240101\n");
+            RecordParser<Object> parser = schema.newParser();
+            List<Object> records = parser.parseFile(data.toString());
+            assertEquals(2, records.size(), "Both lines should be parsed.");
+
+            Path written = tempDir.resolve("written.txt");
+            try (RecordWriter<Object> writer = schema.newWriter(written.toString())) {
+                writer.writeAll(records);
+                assertEquals(2, writer.getRecordsWritten(), "Both records should be written.");
+            }
+
+            assertEquals(List.of("       1John Doe            M 25      -12.502012-12-12",
+                            "-9999999Jane Smith             0            2024-01-01"),
+                    Files.readAllLines(written), "The fields should be aligned in their columns.");
+            assertEquals(records.toString(), parser.parseFile(written.toString()).toString(), "The written records should be parsed back unchanged.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+}
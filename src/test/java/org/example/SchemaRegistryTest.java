@@ -0,0 +1,110 @@
+package org.example;
+
+import org.example.exceptions.SchemaValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaRegistryTest {
+    @TempDir
+    Path tempDir;
+
+    AtomicInteger compilations = new AtomicInteger();
+
+    SchemaCompiler countingCompiler = new SchemaCompiler() {
+        @Override
+        public CompiledSchema compile(List<Column> cols, String packageName) {
+            compilations.incrementAndGet();
+            return super.compile(cols, packageName);
+        }
+    };
+
+    @Test
+    void get_cached() {
+        try {
+            SchemaRegistry testedRegistry = new SchemaRegistry(countingCompiler, 4, null);
+
+            CompiledSchema first = testedRegistry.get("src/test/resources/valid1.schema");
+            CompiledSchema second = testedRegistry.get("src/main/resources/FT.schema");
+
+            assertSame(first, second, "Schemas with the same columns should share the compiled classes.");
+            assertEquals(1, compilations.get(), "The schema should be compiled once.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void get_schemaFileChanged() {
+        try {
+            Path schemaFile = tempDir.resolve("data.schema");
+            Files.writeString(schemaFile, "name 1 20\nage 21 25\n");
+            FileTime lastModified = Files.getLastModifiedTime(schemaFile);
+            SchemaRegistry testedRegistry = new SchemaRegistry(countingCompiler, 4, null);
+            CompiledSchema first = testedRegistry.get(schemaFile.toString());
+
+            // Same size and modification time: the file is not parsed again
+            Files.writeString(schemaFile, "name 1 20\nage 2x 25\n");
+            Files.setLastModifiedTime(schemaFile, lastModified);
+            assertSame(first, testedRegistry.get(schemaFile.toString()), "An unchanged schema file should not be parsed again.");
+
+            Files.setLastModifiedTime(schemaFile, FileTime.fromMillis(lastModified.toMillis() + 1000));
+            assertThrows(SchemaValidationException.class, () -> testedRegistry.get(schemaFile.toString()),
+                    "A modified schema file should be parsed again.");
+
+            Files.writeString(schemaFile, "name 1 20\nage 21 25 int\n");
+            assertNotSame(first, testedRegistry.get(schemaFile.toString()), "The new columns should be compiled.");
+            assertEquals(2, compilations.get(), "Both versions of the schema should be compiled once.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void get_evicted() {
+        try {
+            SchemaRegistry testedRegistry = new SchemaRegistry(countingCompiler, 1, null);
+
+            testedRegistry.get("src/test/resources/valid1.schema");
+            testedRegistry.get("src/test/resources/valid2.schema");
+            testedRegistry.get("src/test/resources/valid1.schema");
+
+            assertEquals(1, testedRegistry.size(), "Only 1 schema should be kept in memory.");
+            assertEquals(3, compilations.get(), "The evicted schema should be compiled again.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void get_persisted() {
+        try {
+            new SchemaRegistry(countingCompiler, 4, tempDir).get("src/test/resources/valid2.schema");
+            CompiledSchema reloaded = new SchemaRegistry(countingCompiler, 4, tempDir).get("src/test/resources/valid2.schema");
+
+            assertEquals(1, compilations.get(), "The second registry should load the classes from disk.");
+            assertEquals(2, reloaded.newParser().parseFile("src/test/resources/valid2_data.txt").size(), "There should be 2 records.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void fingerprint_type() {
+        String stringFingerprint = SchemaRegistry.fingerprint(List.of(new Column("age", 1, 3)));
+        String intFingerprint = SchemaRegistry.fingerprint(List.of(new Column("age", 1, 3, ColumnType.INT)));
+
+        assertNotEquals(stringFingerprint, intFingerprint, "The type of a column should be part of the fingerprint.");
+    }
+}
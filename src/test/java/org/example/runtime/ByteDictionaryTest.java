@@ -0,0 +1,38 @@
+package org.example.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteDictionaryTest {
+    @Test
+    void intern_sameInstance() {
+        ByteDictionary testedDictionary = new ByteDictionary();
+        ByteSlice line = new ByteSlice().set(ByteBuffer.wrap("John  M ".getBytes(StandardCharsets.ISO_8859_1)), 0, 8);
+
+        String first = testedDictionary.intern(line, 4, 8);
+        String second = testedDictionary.intern("Jane   M", 4, 8);
+
+        assertEquals("M", first, "intern should trim the value.");
+        assertSame(first, second, "Equal values should be the same instance, whatever the line they come from.");
+        assertEquals(1, testedDictionary.size(), "There should be 1 value.");
+    }
+
+    @Test
+    void intern_bounded() {
+        ByteDictionary testedDictionary = new ByteDictionary(2);
+
+        String a = testedDictionary.intern("a", 0, 1);
+        testedDictionary.intern("b", 0, 1);
+        String c1 = testedDictionary.intern("c", 0, 1);
+        String c2 = testedDictionary.intern(" c", 1, 2);
+
+        assertEquals(2, testedDictionary.size(), "The dictionary should not grow beyond its maximum size.");
+        assertEquals(c1, c2, "Values beyond the maximum size should still be returned.");
+        assertNotSame(c1, c2, "Values beyond the maximum size should not be interned.");
+        assertSame(a, testedDictionary.intern(" a ", 0, 3), "Known values should still be interned once the dictionary is full.");
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ByteScannersTest {
+    @Test
+    void scalar_blanks() {
+        ByteBuffer buffer = ByteBuffer.wrap(" \tab cé  ".getBytes(StandardCharsets.ISO_8859_1));
+
+        assertEquals(2, ByteScanners.SCALAR.skipLeadingBlanks(buffer, 0, 9), "Tabs and spaces should be skipped.");
+        assertEquals(7, ByteScanners.SCALAR.skipTrailingBlanks(buffer, 0, 9), "Bytes above 0x7f should not be blank.");
+        assertEquals(3, ByteScanners.SCALAR.skipLeadingBlanks(buffer, 3, 3), "An empty range should be all blank.");
+        assertEquals(4, ByteScanners.SCALAR.indexOf(buffer, 2, 9, (byte) ' '), "The first match should be found.");
+        assertEquals(-1, ByteScanners.SCALAR.indexOf(buffer, 5, 7, (byte) ' '), "The match should be within the range.");
+    }
+
+    @Test
+    void preferred_scalarByDefault() {
+        assertSame(ByteScanners.SCALAR, ByteScanners.preferred(), "The vectorized scanner should only be used when enabled.");
+        assertFalse(ByteScanners.SCALAR.prefersHeapBuffers(), "The scalar scanner should scan mapped buffers directly.");
+    }
+
+    @Test
+    void vectorized_sameAsScalar() {
+        ByteScanner vectorized = ByteScanners.vectorized();
+        assumeTrue(vectorized != null, "The Vector API is not available.");
+
+        Random random = new Random(42);
+        byte[] alphabet = {' ', ' ', ' ', '\t', '\n', 'a', 'Z', (byte) 0xe9, 0};
+        for (int round = 0; round < 2000; round++) {
+            byte[] bytes = new byte[1 + random.nextInt(200)];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = random.nextInt(4) == 0 ? alphabet[random.nextInt(alphabet.length)] : (byte) ' ';
+            }
+            // A slice of a larger array, so that vectors are loaded across the bounds of the buffer
+            int arrayOffset = random.nextInt(Math.min(bytes.length, 20));
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, arrayOffset, bytes.length - arrayOffset).slice();
+            int from = random.nextInt(buffer.capacity() + 1);
+            int to = from + random.nextInt(buffer.capacity() - from + 1);
+            ByteBuffer direct = ByteBuffer.allocateDirect(buffer.capacity()).put(0, buffer, 0, buffer.capacity());
+
+            String range = "[" + from + ", " + to + ") of round " + round;
+            assertEquals(ByteScanners.SCALAR.indexOf(buffer, from, to, (byte) '\n'), vectorized.indexOf(buffer, from, to, (byte) '\n'),
+                    "indexOf should match the scalar scanner on " + range);
+            assertEquals(ByteScanners.SCALAR.skipLeadingBlanks(buffer, from, to), vectorized.skipLeadingBlanks(buffer, from, to),
+                    "skipLeadingBlanks should match the scalar scanner on " + range);
+            assertEquals(ByteScanners.SCALAR.skipTrailingBlanks(buffer, from, to), vectorized.skipTrailingBlanks(buffer, from, to),
+                    "skipTrailingBlanks should match the scalar scanner on " + range);
+            assertEquals(ByteScanners.SCALAR.skipTrailingBlanks(buffer, from, to), vectorized.skipTrailingBlanks(direct, from, to),
+                    "Direct buffers should be scanned as well on " + range);
+        }
+    }
+}
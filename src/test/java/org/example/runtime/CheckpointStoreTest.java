@@ -0,0 +1,57 @@
+package org.example.runtime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckpointStoreTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void load_missing() {
+        try {
+            CheckpointStore testedStore = new CheckpointStore(tempDir.resolve("checkpoint"));
+
+            assertEquals(Checkpoint.START, testedStore.load(), "load_missing should start from the beginning of the file.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void save_load() {
+        try {
+            CheckpointStore testedStore = new CheckpointStore(tempDir.resolve("checkpoint"));
+            Checkpoint checkpoint = new Checkpoint(1_000_000_000_000L, 40_000_001, 39_000_000, 1_000_000);
+
+            testedStore.save(new Checkpoint(10, 2, 1, 0));
+            testedStore.save(checkpoint);
+
+            assertEquals(checkpoint, testedStore.load(), "save_load should return the last saved checkpoint.");
+            try (var files = Files.list(tempDir)) {
+                assertEquals(1, files.count(), "No temporary file should be left behind.");
+            }
+
+            testedStore.clear();
+            assertEquals(Checkpoint.START, testedStore.load(), "clear should remove the checkpoint.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void load_corrupted() throws IOException {
+        Path file = tempDir.resolve("checkpoint");
+        Files.writeString(file, "offset=12\n");
+
+        assertThrows(IOException.class, () -> new CheckpointStore(file).load(), "An incomplete checkpoint should not be loaded.");
+    }
+}
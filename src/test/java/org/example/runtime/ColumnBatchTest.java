@@ -0,0 +1,68 @@
+package org.example.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnBatchTest {
+    private final ColumnBatch testedBatch = new ColumnBatch(List.of("name", "age", "joined"),
+            List.of(ColumnBatch.Kind.STRING, ColumnBatch.Kind.INT, ColumnBatch.Kind.DATE), 2);
+
+    @Test
+    void put_byteSlice() {
+        ByteSlice line = new ByteSlice().set(ByteBuffer.wrap("  John  42 2024-01-31".getBytes(StandardCharsets.ISO_8859_1)), 0, 21);
+
+        fill(line);
+
+        assertEquals(1, testedBatch.size(), "There should be 1 row.");
+        assertEquals("John", testedBatch.getString(0, 0), "The name should be trimmed.");
+        assertEquals(42, testedBatch.ints(1)[0], "The age should be stored as an int.");
+        assertEquals(LocalDate.of(2024, 1, 31), testedBatch.getDate(2, 0), "The date should be stored as an epoch day.");
+    }
+
+    @Test
+    void put_failedRowOverwritten() {
+        try {
+            fill("Jane    4x           ");
+            fail("The age should not be converted.");
+        } catch (IllegalArgumentException e) {
+            // The row is not added, so the next line overwrites it
+        }
+        fill("Peter   17           ");
+
+        assertEquals(1, testedBatch.size(), "The failed row should not be counted.");
+        assertEquals("Peter", testedBatch.getString(0, 0), "The failed row should be overwritten.");
+        assertNull(testedBatch.getDate(2, 0), "A blank date should be read as null.");
+        assertEquals(5, testedBatch.stringOffsets(0)[1], "The string offsets should only cover the row added.");
+    }
+
+    @Test
+    void addRow_full() {
+        fill("John    42           ");
+        fill("Jane    30           ");
+
+        assertTrue(testedBatch.isFull(), "The batch should be full.");
+        assertThrows(IllegalStateException.class, testedBatch::addRow, "No row should be added to a full batch.");
+
+        testedBatch.clear();
+        assertEquals(0, testedBatch.size(), "clear should empty the batch.");
+    }
+
+    @Test
+    void ints_wrongKind() {
+        assertThrows(IllegalArgumentException.class, () -> testedBatch.ints(0), "A STRING column should not be read as ints.");
+    }
+
+    private void fill(CharSequence line) {
+        int row = testedBatch.size();
+        testedBatch.putString(0, row, line, 0, 8);
+        testedBatch.putInt(1, row, line, 8, 10);
+        testedBatch.putDate(2, row, line, 11, 21);
+        testedBatch.addRow();
+    }
+}
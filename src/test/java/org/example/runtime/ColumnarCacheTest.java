@@ -0,0 +1,120 @@
+package org.example.runtime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarCacheTest {
+    private static final List<String> NAMES = List.of("name", "age", "id", "balance", "joined", "gender");
+    private static final List<ColumnBatch.Kind> KINDS = List.of(ColumnBatch.Kind.STRING, ColumnBatch.Kind.INT,
+            ColumnBatch.Kind.LONG, ColumnBatch.Kind.DECIMAL, ColumnBatch.Kind.DATE, ColumnBatch.Kind.CHAR);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void read_roundTrip() {
+        try {
+            Path source = Files.writeString(tempDir.resolve("source.txt"), "data");
+            ColumnarCache testedCache = new ColumnarCache(tempDir.resolve("source.cache"));
+            write(testedCache, source);
+
+            List<String> rows = new ArrayList<>();
+            long count = testedCache.read(new ColumnBatch(NAMES, KINDS, 2), null, batch -> {
+                for (int row = 0; row < batch.size(); row++) {
+                    rows.add(batch.getString(0, row) + "|" + batch.getInt(1, row) + "|" + batch.getLong(2, row) + "|"
+                            + batch.getDecimal(3, row) + "|" + batch.getDate(4, row) + "|" + batch.getChar(5, row));
+                }
+            });
+
+            assertEquals(3, count, "Every row should be read.");
+            assertEquals(List.of("John Doe|25|1|-12.50|2012-12-12|M", "Jane|30|-9223372036854775808|null|null|F",
+                    "|0|7|123456789012345678901234.5|2024-01-01| "), rows, "Every value should be read back unchanged.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void read_projection() {
+        try {
+            Path source = Files.writeString(tempDir.resolve("source.txt"), "data");
+            ColumnarCache testedCache = new ColumnarCache(tempDir.resolve("source.cache"));
+            write(testedCache, source);
+
+            boolean[] projected = {false, true, false, false, false, false};
+            List<String> rows = new ArrayList<>();
+            testedCache.read(new ColumnBatch(NAMES, KINDS, 2), projected, batch -> {
+                for (int row = 0; row < batch.size(); row++) {
+                    rows.add(batch.getString(0, row) + "|" + batch.getInt(1, row) + "|" + batch.getLong(2, row));
+                }
+            });
+
+            assertEquals(List.of("|25|0", "|30|0", "|0|0"), rows, "Only the projected column should be read.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void isValid_invalidation() {
+        try {
+            Path source = Files.writeString(tempDir.resolve("source.txt"), "data");
+            ColumnarCache testedCache = new ColumnarCache(tempDir.resolve("source.cache"));
+            ColumnBatch batch = new ColumnBatch(NAMES, KINDS, 2);
+
+            assertFalse(testedCache.isValid(source, "abc", batch), "A missing cache should not be valid.");
+            write(testedCache, source);
+            assertTrue(testedCache.isValid(source, "abc", batch), "The cache should be valid for its source.");
+            assertFalse(testedCache.isValid(source, "abd", batch), "The cache should not be valid for another schema.");
+            assertFalse(testedCache.isValid(source, "abc", new ColumnBatch(NAMES, KINDS, 3)), "The cache should not be valid for another batch size.");
+
+            Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() + 1000));
+            assertFalse(testedCache.isValid(source, "abc", batch), "The cache should not be valid once the source is modified.");
+            write(testedCache, source);
+            Files.writeString(source, "more data");
+            assertFalse(testedCache.isValid(source, "abc", batch), "The cache should not be valid once the source is resized.");
+            assertEquals(List.of(tempDir.resolve("source.cache"), tempDir.resolve("source.txt")),
+                    Files.list(tempDir).sorted().toList(), "No temporary file should be left.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    private static void write(ColumnarCache cache, Path source) throws IOException {
+        ColumnBatch batch = new ColumnBatch(NAMES, KINDS, 2);
+        try (ColumnarCache.Writer writer = cache.create(source, "abc", batch)) {
+            fill(batch, "John Doe", "25", "1", "-12.50", "2012-12-12", "M");
+            fill(batch, "Jane", "30", String.valueOf(Long.MIN_VALUE), "", "", "F");
+            writer.append(batch);
+            batch.clear();
+            fill(batch, "", "", "7", "123456789012345678901234.5", "20240101", "");
+            writer.append(batch);
+            writer.commit();
+        }
+    }
+
+    private static void fill(ColumnBatch batch, String... values) {
+        int row = batch.size();
+        batch.putString(0, row, values[0], 0, values[0].length());
+        batch.putInt(1, row, values[1], 0, values[1].length());
+        batch.putLong(2, row, values[2], 0, values[2].length());
+        batch.putDecimal(3, row, values[3], 0, values[3].length());
+        batch.putDate(4, row, values[4], 0, values[4].length());
+        batch.putChar(5, row, values[5], 0, values[5].length());
+        batch.addRow();
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.runtime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalSorterTest {
+    private static final RawColumn NAME = new RawColumn("name", 0, 4);
+    private static final RawColumn AMOUNT = new RawColumn("amount", 4, 10);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void sorted_inMemory() {
+        try (ExternalSorter testedSorter = new ExternalSorter(List.of(SortKey.text(NAME)), 10, ExternalSorter.DEFAULT_MEMORY_BUDGET, tempDir)) {
+            testedSorter.add("bob     20", 1, 0);
+            testedSorter.add("al      10", 2, 11);
+            testedSorter.add("bob     30", 3, 22);
+
+            List<String> lines = new ArrayList<>();
+            List<Long> lineNos = new ArrayList<>();
+            List<Long> offsets = new ArrayList<>();
+            long count = testedSorter.sorted((line, lineNo, byteOffset) -> {
+                lines.add(line.toString());
+                lineNos.add(lineNo);
+                offsets.add(byteOffset);
+            });
+
+            assertEquals(3, count, "Every line should be handed over.");
+            assertEquals(List.of("al      10", "bob     20", "bob     30"), lines, "Lines of equal keys should keep their order.");
+            assertEquals(List.of(2L, 1L, 3L), lineNos, "The line numbers should follow their lines.");
+            assertEquals(List.of(11L, 0L, 22L), offsets, "The offsets should follow their lines.");
+            assertEquals(0, testedSorter.runCount(), "Nothing should be spilled within the budget.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void sorted_spilled() {
+        try {
+            List<String> expected = new ArrayList<>();
+            ExternalSorter testedSorter = new ExternalSorter(List.of(SortKey.number(AMOUNT), SortKey.text(NAME).descending()), 10, 4096, tempDir);
+            try (testedSorter) {
+                for (int i = 0; i < 5000; i++) {
+                    String line = String.format("%4d%6d", i % 7, (i * 7919) % 1000 - 500);
+                    testedSorter.add(line, i + 1, i * 11L);
+                    expected.add(line);
+                }
+                expected.sort((a, b) -> {
+                    int byAmount = Long.compare(Long.parseLong(a.substring(4).trim()), Long.parseLong(b.substring(4).trim()));
+                    return byAmount != 0 ? byAmount : b.substring(0, 4).trim().compareTo(a.substring(0, 4).trim());
+                });
+
+                List<String> lines = new ArrayList<>();
+                long[] previousLineNo = {0};
+                String[] previous = {null};
+                testedSorter.sorted((line, lineNo, byteOffset) -> {
+                    String value = line.toString();
+                    if (value.equals(previous[0])) {
+                        assertTrue(lineNo > previousLineNo[0], "Equal lines should keep their order.");
+                    }
+                    previous[0] = value;
+                    previousLineNo[0] = lineNo;
+                    lines.add(value);
+                });
+
+                assertTrue(testedSorter.runCount() > 1, "The lines should be spilled beyond the budget.");
+                assertEquals(expected, lines, "Lines should be sorted by number, then by descending text.");
+                try (Stream<Path> files = Files.list(tempDir)) {
+                    assertTrue(files.findAny().isPresent(), "The runs should be in the temporary directory.");
+                }
+            }
+            try (Stream<Path> files = Files.list(tempDir)) {
+                assertFalse(files.findAny().isPresent(), "The runs should be removed on close.");
+            }
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void aggregate_groups() {
+        try (ExternalSorter testedSorter = new ExternalSorter(List.of(SortKey.text(NAME)), 10, 256, tempDir)) {
+            for (int i = 0; i < 100; i++) {
+                testedSorter.add(String.format("%-4s%6d", "k" + i % 3, i), i + 1, 0);
+            }
+            testedSorter.add("skip     0", 101, 0);
+
+            List<String> groups = new ArrayList<>();
+            long count = testedSorter.aggregate(
+                    (line, lineNo, byteOffset) -> line.toString().startsWith("skip") ? null : Long.parseLong(line.toString().substring(4).trim()),
+                    Collectors.summingLong(Long::longValue),
+                    (key, sum) -> groups.add(key + "=" + sum));
+
+            assertEquals(3, count, "A group whose lines were all skipped should not be handed over.");
+            assertEquals(List.of("[k0]=1683", "[k1]=1617", "[k2]=1650"), groups, "Every group should be reduced in key order.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void add_invalidLines() {
+        try (ExternalSorter testedSorter = new ExternalSorter(List.of(SortKey.number(AMOUNT)), 10, 4096, tempDir)) {
+            assertThrows(IllegalArgumentException.class, () -> testedSorter.add("short", 1, 0),
+                    "A line of another length should be refused.");
+            assertThrows(IllegalArgumentException.class, () -> testedSorter.add("name  12ab", 2, 0),
+                    "A line whose number key cannot be parsed should be refused.");
+            assertEquals(0, testedSorter.size(), "Refused lines should not be added.");
+            assertThrows(IllegalArgumentException.class,
+                    () -> new ExternalSorter(List.of(SortKey.text(new RawColumn("x", 8, 12))), 10, 4096, tempDir),
+                    "A key out of the record should be refused.");
+        } catch (IOException e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldEncoderTest {
+    @Test
+    void writeString_leftAligned() {
+        byte[] out = blank(10);
+        FieldEncoder.writeString(out, 2, 8, "abc", "name");
+        FieldEncoder.writeString(out, 8, 10, null, "other");
+
+        assertEquals("  abc     ", text(out), "The String should be left-aligned and null should stay blank.");
+        assertEquals("abc", Fields.trimmed(text(out), 2, 8), "The String should be read back unchanged.");
+    }
+
+    @Test
+    void writeLong_rightAligned() {
+        byte[] out = blank(30);
+        FieldEncoder.writeInt(out, 0, 5, -42, "a");
+        FieldEncoder.writeLong(out, 5, 25, Long.MIN_VALUE, "b");
+        FieldEncoder.writeLong(out, 25, 30, 0, "c");
+
+        assertEquals("  -42-9223372036854775808    0", text(out), "The numbers should be right-aligned.");
+        assertEquals(Long.MIN_VALUE, Fields.parseLong(text(out), 5, 25), "Long.MIN_VALUE should be read back unchanged.");
+    }
+
+    @Test
+    void writeDecimalDateChar() {
+        byte[] out = blank(29);
+        FieldEncoder.writeDecimal(out, 0, 8, new BigDecimal("1E+3"), "a");
+        FieldEncoder.writeDate(out, 8, 18, LocalDate.of(2024, 2, 29), "b");
+        FieldEncoder.writeDate(out, 18, 26, LocalDate.of(999, 1, 1), "c");
+        FieldEncoder.writeChar(out, 26, 27, 'F', "d");
+        FieldEncoder.writeChar(out, 27, 28, '\0', "e");
+        FieldEncoder.writeChar(out, 28, 29, '€', "f");
+
+        assertEquals("    10002024-02-2909990101F ?", text(out), "Every value should be written in a format Fields reads back.");
+        assertEquals(LocalDate.of(999, 1, 1), Fields.parseDate(text(out), 18, 26), "The compact date should be read back unchanged.");
+    }
+
+    @Test
+    void write_tooLong() {
+        byte[] out = blank(4);
+
+        assertThrows(IllegalArgumentException.class, () -> FieldEncoder.writeString(out, 0, 3, "abcd", "name"));
+        assertThrows(IllegalArgumentException.class, () -> FieldEncoder.writeLong(out, 0, 3, -100, "age"));
+        assertThrows(IllegalArgumentException.class, () -> FieldEncoder.writeDate(out, 0, 4, LocalDate.of(2024, 1, 1), "date"));
+        assertEquals("    ", text(out), "Nothing should be written for a value that does not fit.");
+    }
+
+    @Test
+    void requireBlank_sharedCharacters() {
+        byte[] out = blank(6);
+        FieldEncoder.writeString(out, 0, 3, "ab", "name");
+        FieldEncoder.requireBlank(out, 2, 3, "name", "gender");
+        FieldEncoder.writeString(out, 3, 6, "abc", "other");
+
+        assertThrows(IllegalArgumentException.class, () -> FieldEncoder.requireBlank(out, 3, 4, "other", "next"),
+                "A value reaching into the shared characters should be rejected.");
+    }
+
+    private static byte[] blank(int length) {
+        byte[] out = new byte[length];
+        Arrays.fill(out, (byte) ' ');
+        return out;
+    }
+
+    private static String text(byte[] out) {
+        return new String(out, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldsTest {
+    @Test
+    void trimmed_byteSlice() {
+        ByteSlice slice = slice("  John Doe   M");
+
+        assertEquals("John Doe", Fields.trimmed(slice, 0, 12), "trimmed should strip the surrounding spaces.");
+        assertEquals("", Fields.trimmed(slice, 10, 12), "A blank field should be read as an empty String.");
+    }
+
+    @Test
+    void parseInt_valid() {
+        assertEquals(25, Fields.parseInt("  25", 0, 4), "parseInt should skip the padding.");
+        assertEquals(-7, Fields.parseInt(slice("x -7 "), 1, 5), "parseInt should read the sign.");
+        assertEquals(0, Fields.parseInt("    ", 0, 4), "A blank int should be read as 0.");
+    }
+
+    @Test
+    void parseInt_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> Fields.parseInt("2 5", 0, 3));
+        assertThrows(IllegalArgumentException.class, () -> Fields.parseInt("9999999999", 0, 10));
+    }
+
+    @Test
+    void parseLong_bounds() {
+        assertEquals(Long.MAX_VALUE, Fields.parseLong("9223372036854775807", 0, 19), "parseLong should read Long.MAX_VALUE.");
+        assertEquals(Long.MIN_VALUE, Fields.parseLong("-9223372036854775808", 0, 20), "parseLong should read Long.MIN_VALUE.");
+        assertThrows(IllegalArgumentException.class, () -> Fields.parseLong("9223372036854775808", 0, 19));
+    }
+
+    @Test
+    void parseDecimal_valid() {
+        assertEquals(new BigDecimal("-12.50"), Fields.parseDecimal(" -12.50", 0, 7), "parseDecimal should keep the scale.");
+        assertEquals(new BigDecimal("1234567890123456789.5"), Fields.parseDecimal("1234567890123456789.5", 0, 21),
+                "parseDecimal should support more digits than a long can hold.");
+        assertNull(Fields.parseDecimal("   ", 0, 3), "A blank decimal should be read as null.");
+    }
+
+    @Test
+    void parseDate_valid() {
+        assertEquals(LocalDate.of(2024, 1, 31), Fields.parseDate("20240131", 0, 8), "parseDate should read yyyyMMdd.");
+        assertEquals(LocalDate.of(2012, 12, 12), Fields.parseDate("2012-12-12 ", 0, 11), "parseDate should read yyyy-MM-dd.");
+        assertThrows(IllegalArgumentException.class, () -> Fields.parseDate("20240231", 0, 8));
+        assertThrows(IllegalArgumentException.class, () -> Fields.parseDate("2024x01y02", 0, 10), "Only '-' should separate the parts of a date.");
+        assertThrows(IllegalArgumentException.class, () -> Fields.parseDate("2024/01/02", 0, 10), "Only '-' should separate the parts of a date.");
+    }
+
+    @Test
+    void parseChar_valid() {
+        assertEquals('F', Fields.parseChar(" F", 0, 2), "parseChar should skip the padding.");
+        assertThrows(IllegalArgumentException.class, () -> Fields.parseChar("FM", 0, 2));
+    }
+
+    private ByteSlice slice(String value) {
+        ByteBuffer buffer = ByteBuffer.wrap(value.getBytes(StandardCharsets.ISO_8859_1));
+        return new ByteSlice().set(buffer, 0, buffer.capacity());
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.runtime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileFollowerTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void poll_partialLine() {
+        try {
+            Path file = tempDir.resolve("feed.txt");
+            Files.writeString(file, "aaaa\nbb");
+            FileFollower testedFollower = new FileFollower(file);
+            List<String> lines = new ArrayList<>();
+
+            assertEquals(1, testedFollower.poll((line, lineNo, byteOffset) -> lines.add(lineNo + ":" + line)), "Only the complete line should be read.");
+            assertEquals(5, testedFollower.offset(), "The offset should stop before the partial line.");
+
+            Files.writeString(file, "bb\ncccc\n", StandardOpenOption.APPEND);
+            assertEquals(2, testedFollower.poll((line, lineNo, byteOffset) -> lines.add(lineNo + ":" + line)), "The completed line should be read with the new one.");
+
+            assertEquals(List.of("1:aaaa", "2:bbbb", "3:cccc"), lines, "poll_partialLine should read every line once, in order.");
+            assertEquals(15, testedFollower.offset(), "The offset should be at the end of the file.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void poll_truncated() {
+        try {
+            Path file = tempDir.resolve("feed.txt");
+            Files.writeString(file, "aaaa\nbbbb\n");
+            FileFollower testedFollower = new FileFollower(file);
+            testedFollower.poll((line, lineNo, byteOffset) -> { });
+
+            Files.writeString(file, "cc\n");
+            List<String> lines = new ArrayList<>();
+            testedFollower.poll((line, lineNo, byteOffset) -> lines.add(lineNo + ":" + line));
+
+            assertEquals(List.of("1:cc"), lines, "A truncated file should be read again from the start.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void follow_appended() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Path file = tempDir.resolve("feed.txt");
+            Files.writeString(file, "aaaa\n");
+            BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+
+            try (FileFollower testedFollower = new FileFollower(file, 0, 1, Duration.ofMillis(200))) {
+                Future<?> following = executor.submit(() -> {
+                    testedFollower.follow((line, lineNo, byteOffset) -> lines.add(line.toString()));
+                    return null;
+                });
+
+                assertEquals("aaaa", lines.poll(10, TimeUnit.SECONDS), "The existing line should be read first.");
+                Files.writeString(file, "bbbb\n", StandardOpenOption.APPEND);
+                assertEquals("bbbb", lines.poll(10, TimeUnit.SECONDS), "The appended line should be read as it arrives.");
+
+                testedFollower.close();
+                following.get(10, TimeUnit.SECONDS);
+                assertEquals(10, testedFollower.offset(), "The offset should be kept after close.");
+            }
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void follow_flushedAfterPoll() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Path file = tempDir.resolve("feed.txt");
+            Files.writeString(file, "aaaa\n");
+            BlockingQueue<String> events = new LinkedBlockingQueue<>();
+
+            try (FileFollower testedFollower = new FileFollower(file, 0, 1, Duration.ofMillis(200))) {
+                Future<?> following = executor.submit(() -> {
+                    testedFollower.follow((line, lineNo, byteOffset) -> events.add(line.toString()), () -> events.add("flush"));
+                    return null;
+                });
+
+                assertEquals("aaaa", events.poll(10, TimeUnit.SECONDS), "The existing line should be read first.");
+                assertEquals("flush", events.poll(10, TimeUnit.SECONDS), "The output should be flushed after the poll.");
+                Files.writeString(file, "bbbb\n", StandardOpenOption.APPEND);
+                assertEquals("bbbb", events.poll(10, TimeUnit.SECONDS), "The appended line should be read as it arrives.");
+                assertEquals("flush", events.poll(10, TimeUnit.SECONDS), "The output should be flushed after every poll.");
+
+                testedFollower.close();
+                following.get(10, TimeUnit.SECONDS);
+            }
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.runtime;
+
+import org.example.FixedLengthParser;
+import org.example.Record;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSetIngesterTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void ingest_directory() {
+        try {
+            for (int i = 0; i < 50; i++) {
+                Files.copy(Path.of("src/test/resources/valid1_data1.txt"), tempDir.resolve(String.format("feed%02d.txt", i)));
+            }
+            Files.writeString(tempDir.resolve("feed.schema"), "name 1 20\n");
+            FileSetIngester<Record> testedIngester = new FileSetIngester<>(new FixedLengthParser(), 1, 4);
+
+            List<Record> records = new ArrayList<>();
+            List<FileSetIngester.FileStatus> statuses = testedIngester.ingest(tempDir, "*.txt", records::add);
+
+            assertEquals(100, records.size(), "Every record of every file should be consumed.");
+            assertEquals(50, statuses.size(), "Only the files matching the glob should be ingested.");
+            assertEquals(tempDir.resolve("feed00.txt"), statuses.getFirst().getPath(), "The statuses should be in the order of the file names.");
+            for (FileSetIngester.FileStatus status : statuses) {
+                assertEquals(FileSetIngester.FileStatus.State.SUCCEEDED, status.getState(), "Every file should succeed: " + status);
+                assertEquals(2, status.getRecords(), "Every file should have 2 records.");
+            }
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void ingest_failedFile() {
+        try {
+            FileSetIngester<Record> testedIngester = new FileSetIngester<>(new FixedLengthParser());
+
+            List<Record> records = new ArrayList<>();
+            List<FileSetIngester.FileStatus> statuses = testedIngester.ingest(
+                    List.of(Path.of("src/test/resources/valid1_data1.txt"), tempDir.resolve("missing.txt")), records::add);
+
+            assertEquals(2, records.size(), "The records of the valid file should be consumed.");
+            assertEquals(FileSetIngester.FileStatus.State.SUCCEEDED, statuses.get(0).getState(), "The valid file should succeed.");
+            assertEquals(FileSetIngester.FileStatus.State.FAILED, statuses.get(1).getState(), "The missing file should fail.");
+            assertInstanceOf(NoSuchFileException.class, statuses.get(1).getError(), "The status should report why the file failed.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void ingest_consumerFails() {
+        try {
+            for (int i = 0; i < 10; i++) {
+                Files.copy(Path.of("src/test/resources/valid1_data1.txt"), tempDir.resolve("feed" + i + ".txt"));
+            }
+            FileSetIngester<Record> testedIngester = new FileSetIngester<>(new FixedLengthParser(), 1, 2);
+
+            assertThrows(IllegalStateException.class, () -> testedIngester.ingest(tempDir, "*.txt", record -> {
+                throw new IllegalStateException("consumer failed");
+            }), "The exception of the consumer should be propagated without waiting for the blocked files.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+}
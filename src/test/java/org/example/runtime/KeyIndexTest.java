@@ -0,0 +1,87 @@
+package org.example.runtime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyIndexTest {
+    private static final RawColumn KEY = new RawColumn("id", 0, 4);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void lookup_sortedKeys() {
+        try {
+            StringBuilder content = new StringBuilder();
+            for (int i = 999; i >= 0; i--) {
+                content.append(String.format("%4d%06d%n", i % 500, i));
+            }
+            content.append("bad\n");
+            Path source = Files.writeString(tempDir.resolve("data.txt"), content);
+            KeyIndex testedIndex = new KeyIndex(tempDir.resolve("data.idx"));
+
+            assertEquals(1000, testedIndex.build(source, "abc", KEY, 10), "Every line of the record length should be indexed.");
+
+            List<String> lines = new ArrayList<>();
+            List<Long> lineNos = new ArrayList<>();
+            int found = testedIndex.lookup(source, KEY, 10, " 42 ", (line, lineNo, byteOffset) -> {
+                lines.add(line.toString());
+                lineNos.add(lineNo);
+            });
+
+            assertEquals(2, found, "Both lines of the key should be found.");
+            assertEquals(List.of("  42000542", "  42000042"), lines, "The lines should be read in file order.");
+            assertEquals(List.of(458L, 958L), lineNos, "The line numbers should be reported.");
+            assertEquals(0, testedIndex.lookup(source, KEY, 10, "500", (line, lineNo, byteOffset) -> fail("No line should match.")),
+                    "A missing key should not be found.");
+            assertEquals(0, testedIndex.lookup(source, KEY, 10, "12345", (line, lineNo, byteOffset) -> fail("No line should match.")),
+                    "A key wider than the column should not be found.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void lookup_prefixKeys() {
+        try {
+            Path source = Files.writeString(tempDir.resolve("data.txt"), "ab  1\nabc 2\na   3\nab  4\n");
+            KeyIndex testedIndex = new KeyIndex(tempDir.resolve("data.idx"));
+            testedIndex.build(source, "abc", KEY, 5);
+
+            List<String> lines = new ArrayList<>();
+            testedIndex.lookup(source, KEY, 5, "ab", (line, lineNo, byteOffset) -> lines.add(line.toString()));
+
+            assertEquals(List.of("ab  1", "ab  4"), lines, "Only the exact key should match, not the keys it prefixes.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void isValid_invalidation() {
+        try {
+            Path source = Files.writeString(tempDir.resolve("data.txt"), "ab  1\n");
+            KeyIndex testedIndex = new KeyIndex(tempDir.resolve("data.idx"));
+
+            assertFalse(testedIndex.isValid(source, "abc", KEY), "A missing index should not be valid.");
+            testedIndex.build(source, "abc", KEY, 5);
+            assertTrue(testedIndex.isValid(source, "abc", KEY), "The index should be valid for its source.");
+            assertFalse(testedIndex.isValid(source, "abd", KEY), "The index should not be valid for another schema.");
+            assertFalse(testedIndex.isValid(source, "abc", new RawColumn("other", 4, 5)), "The index should not be valid for another column.");
+            Files.writeString(source, "ab  1\ncd  2\n");
+            assertFalse(testedIndex.isValid(source, "abc", KEY), "The index should not be valid once the source changes.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LineFitterTest {
+    private static final List<RawColumn> COLUMNS = List.of(new RawColumn("name", 0, 6), new RawColumn("code", 6, 10));
+
+    @Test
+    void fit_padShort() {
+        LineFitter testedFitter = new LineFitter(10, COLUMNS, EnumSet.of(Leniency.PAD_SHORT));
+
+        assertEquals("ab        ", testedFitter.fit("ab"), "A short String should be padded.");
+        assertEquals("abcdef12  ", testedFitter.fit(slice("abcdef12")).toString(), "A short ByteSlice should be padded.");
+        assertEquals("          ", testedFitter.fit(slice("")).toString(), "An empty line should be padded.");
+        assertNull(testedFitter.fit("abcdef12345"), "A long line should not be fitted.");
+    }
+
+    @Test
+    void fit_truncateLong() {
+        LineFitter testedFitter = new LineFitter(10, COLUMNS, EnumSet.of(Leniency.TRUNCATE_LONG));
+
+        assertEquals("abcdef1234", testedFitter.fit("abcdef12345"), "A long String should be truncated.");
+        assertEquals("abcdef1234", testedFitter.fit(slice("abcdef1234567")).toString(), "A long ByteSlice should be truncated.");
+        assertNull(testedFitter.fit("abcdef123"), "A short line should not be fitted.");
+    }
+
+    @Test
+    void fit_raggedLastColumn() {
+        LineFitter testedFitter = new LineFitter(10, COLUMNS, EnumSet.of(Leniency.RAGGED_LAST_COLUMN));
+        ByteSlice exact = slice("abcdef1234");
+
+        assertSame(exact, testedFitter.fit(exact), "A line of the record length should be returned as it is.");
+        assertEquals("abcdef12  ", testedFitter.fit(slice("abcdef12")).toString(), "A line ending within the last column should be padded.");
+        assertEquals("abcdef    ", testedFitter.fit("abcdef"), "A line ending right before the last column should be padded.");
+        assertNull(testedFitter.fit("abcde"), "A line ending before the last column should not be fitted.");
+    }
+
+    private static ByteSlice slice(String line) {
+        // Followed by other bytes, which should never be read
+        byte[] bytes = (line + "\nXXXXXXXXXX").getBytes(StandardCharsets.ISO_8859_1);
+        return new ByteSlice().set(ByteBuffer.wrap(bytes), 0, line.length());
+    }
+}
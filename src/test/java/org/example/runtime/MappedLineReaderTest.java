@@ -0,0 +1,116 @@
+package org.example.runtime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedLineReaderTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void read_mixedTerminators() {
+        try {
+            Path file = tempDir.resolve("data.txt");
+            Files.writeString(file, "first\r\nsecond\n\nlast");
+
+            List<String> actualLines = readAll(new MappedLineReader(), file);
+
+            assertEquals(List.of("first", "second", "", "last"), actualLines, "read_mixedTerminators should return the expected lines.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void read_smallWindows() {
+        try {
+            Path file = tempDir.resolve("data.txt");
+            StringBuilder content = new StringBuilder();
+            for (int i = 0; i < 100; i++) {
+                content.append("line number ").append(i).append('\n');
+            }
+            Files.writeString(file, content);
+
+            List<String> actualLines = readAll(new MappedLineReader(32), file);
+
+            assertEquals(Files.readAllLines(file), actualLines, "read_smallWindows should return the same lines as across a single window.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void read_offsets() {
+        try {
+            Path file = tempDir.resolve("data.txt");
+            Files.writeString(file, "aaaa\nbbbb\ncccc\n");
+
+            List<Long> offsets = new ArrayList<>();
+            List<Long> lineNos = new ArrayList<>();
+            long consumed = new MappedLineReader().read(file, 5, 10, 2, (line, lineNo, byteOffset) -> {
+                offsets.add(byteOffset);
+                lineNos.add(lineNo);
+            });
+
+            assertEquals(List.of(5L), offsets, "Only the line starting in the requested range should be read.");
+            assertEquals(List.of(2L), lineNos, "The line number should start from firstLineNo.");
+            assertEquals(10L, consumed, "The returned offset should be right after the last line read.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void read_lineLongerThanWindow() {
+        Path file = tempDir.resolve("data.txt");
+        assertThrows(java.io.IOException.class, () -> {
+            Files.writeString(file, "0123456789\n0123456789\n");
+            readAll(new MappedLineReader(8), file);
+        });
+    }
+
+    @Test
+    void read_bothScanners() {
+        try {
+            Path file = tempDir.resolve("data.txt");
+            StringBuilder content = new StringBuilder();
+            for (int i = 0; i < 5000; i++) {
+                content.append("line ").append(i).append(i % 3 == 0 ? "\r\n" : "\n");
+            }
+            // Longer than a block, which has to grow
+            content.append("x".repeat(3 * MappedLineReader.BLOCK_SIZE)).append('\n').append("last");
+            Files.writeString(file, content);
+            List<String> expectedLines = Files.readAllLines(file);
+
+            List<ByteScanner> scanners = new ArrayList<>(List.of(ByteScanners.SCALAR));
+            if (ByteScanners.vectorized() != null) {
+                scanners.add(ByteScanners.vectorized());
+            }
+            for (ByteScanner scanner : scanners) {
+                assertEquals(expectedLines, readAll(new MappedLineReader(MappedLineReader.DEFAULT_WINDOW_SIZE, scanner), file),
+                        "The " + scanner + " scanner should return every line.");
+                assertEquals(expectedLines, readAll(new MappedLineReader(1 << 18, scanner), file),
+                        "The " + scanner + " scanner should return every line across windows.");
+            }
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    private List<String> readAll(MappedLineReader reader, Path file) throws java.io.IOException {
+        List<String> lines = new ArrayList<>();
+        reader.read(file, (line, lineNo, byteOffset) -> lines.add(line.toString()));
+        return lines;
+    }
+}
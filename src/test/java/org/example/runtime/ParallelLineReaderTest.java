@@ -0,0 +1,82 @@
+package org.example.runtime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelLineReaderTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void split_fixedStride() {
+        try {
+            Path file = tempDir.resolve("data.txt");
+            Files.writeString(file, "aaaa\nbbbb\ncccc\ndddd\n");
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long[] bounds = ParallelLineReader.split(channel, 4, 2);
+
+                assertArrayEquals(new long[]{0, 10, 20}, bounds, "split_fixedStride should place the boundaries at the record stride.");
+            }
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void split_malformedLine() {
+        try {
+            Path file = tempDir.resolve("data.txt");
+            Files.writeString(file, "aaaaaaa\nbbbb\ncccc\ndddd\n");
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long[] bounds = ParallelLineReader.split(channel, 4, 2);
+
+                assertArrayEquals(new long[]{0, 13, 23}, bounds, "split_malformedLine should move the boundary to the next line start.");
+            }
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void run_preservesOrder() {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Path file = tempDir.resolve("data.txt");
+            List<String> expectedLines = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                expectedLines.add(String.format("%08d", i));
+            }
+            Files.write(file, expectedLines);
+
+            List<List<String>> parts = new ParallelLineReader(executor, 7).run(file, 8, (channel, from, to) -> {
+                List<String> part = new ArrayList<>();
+                new MappedLineReader().read(channel, from, to, 0, (line, lineNo, byteOffset) -> part.add(line.toString()));
+                return part;
+            });
+
+            List<String> actualLines = new ArrayList<>();
+            parts.forEach(actualLines::addAll);
+            assertEquals(expectedLines, actualLines, "run_preservesOrder should return every line exactly once in file order.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParseMetricsTest {
+    @Test
+    void elapsedNanos_concurrentFiles() {
+        ParseMetrics metrics = new ParseMetrics();
+        long start = System.nanoTime();
+        metrics.onFileStart("a");
+        metrics.onFileStart("b");
+        metrics.onRecord(10);
+        metrics.onFileEnd("a", 1_000_000_000);
+        metrics.onFileEnd("b", 1_000_000_000);
+        long wall = System.nanoTime() - start;
+
+        assertEquals(2_000_000_000, metrics.getParseNanos(), "The time of every file should be summed.");
+        assertTrue(metrics.getElapsedNanos() > 0 && metrics.getElapsedNanos() <= wall,
+                "Files parsed concurrently should only be counted once in the elapsed time.");
+        assertTrue(metrics.getRecordsPerSecond() >= 1_000_000_000.0 / wall, "The rate should be based on the elapsed time.");
+    }
+
+    @Test
+    void onAttached_columnCount() {
+        List<String> columnNames = List.of("name", "gender");
+
+        assertDoesNotThrow(() -> new ParseMetrics().onAttached(columnNames), "Metrics without column timing fit any parser.");
+        assertDoesNotThrow(() -> new ParseMetrics(columnNames).onAttached(columnNames), "Metrics of the same columns should fit.");
+        assertThrows(IllegalArgumentException.class, () -> new ParseMetrics(List.of("name")).onAttached(columnNames),
+                "Metrics of a different number of columns should not fit.");
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.runtime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipelinedInputStreamTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void read_smallBuffers() {
+        try {
+            StringBuilder content = new StringBuilder();
+            for (int i = 0; i < 1000; i++) {
+                content.append("line ").append(i).append('\n');
+            }
+            byte[] expected = content.toString().getBytes(StandardCharsets.US_ASCII);
+
+            try (InputStream testedStream = new PipelinedInputStream(new ByteArrayInputStream(expected), 7, 2)) {
+                assertEquals('l', testedStream.read(), "read() should return the first byte.");
+                byte[] actual = testedStream.readAllBytes();
+
+                assertArrayEquals(Arrays.copyOfRange(expected, 1, expected.length), actual, "Every byte should be read in order across the buffers.");
+                assertEquals(-1, testedStream.read(), "The end of the source should be reported.");
+            }
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void read_sourceFailure() {
+        InputStream failing = new InputStream() {
+            private int count;
+
+            @Override
+            public int read() throws IOException {
+                if (count++ >= 10) {
+                    throw new IOException("Corrupted input");
+                }
+                return 'a';
+            }
+        };
+
+        try (PipelinedInputStream testedStream = new PipelinedInputStream(failing, 4, 2)) {
+            IOException e = assertThrows(IOException.class, testedStream::readAllBytes);
+            assertEquals("Corrupted input", e.getCause().getMessage(), "The failure of the source should be the cause.");
+        }
+    }
+
+    @Test
+    void read_sourceRuntimeException() {
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() {
+                throw new IllegalStateException("Broken codec");
+            }
+        };
+
+        try (PipelinedInputStream testedStream = new PipelinedInputStream(failing, 4, 2)) {
+            IOException e = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThrows(IOException.class, testedStream::readAllBytes),
+                    "The reader should not wait for a producer that died.");
+            assertInstanceOf(IllegalStateException.class, e.getCause(), "The failure of the source should be the cause.");
+        }
+    }
+
+    @Test
+    void open_detectGzip() {
+        try {
+            Path plain = tempDir.resolve("plain.txt");
+            Files.writeString(plain, "hello\n");
+            Path compressed = tempDir.resolve("compressed");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+                out.write("hello\n".getBytes(StandardCharsets.US_ASCII));
+            }
+
+            assertNull(InputCodecs.detect(plain, InputCodecs.DEFAULT), "A plain file should not match any codec.");
+            assertSame(InputCodecs.GZIP, InputCodecs.detect(compressed, InputCodecs.DEFAULT), "gzip should be recognized by its magic number.");
+            assertNull(InputCodecs.detect(compressed, List.of()), "No codec should match when none is given.");
+            try (InputStream in = InputCodecs.open(compressed, InputCodecs.DEFAULT)) {
+                assertEquals("hello\n", new String(in.readAllBytes(), StandardCharsets.US_ASCII), "The file should be decompressed.");
+            }
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RawColumnTest {
+    private final RawColumn testedName = new RawColumn("name", 0, 10);
+    private final RawColumn testedAge = new RawColumn("age", 10, 14);
+
+    @Test
+    void equalTo_trimmed() {
+        assertTrue(testedName.equalTo("John").test("  John      42"), "equalTo should ignore the surrounding whitespace.");
+        assertFalse(testedName.equalTo("Joh").test("John       42"), "equalTo should compare the whole value.");
+        assertFalse(testedName.equalTo("Jane").test("John       42"), "equalTo should compare every character.");
+    }
+
+    @Test
+    void equalTo_char() {
+        RawColumn testedGender = new RawColumn("gender", 4, 6);
+
+        assertTrue(testedGender.equalTo('F').test("abc  F"), "equalTo should match the single character.");
+        assertFalse(testedGender.equalTo('F').test("abc FF"), "equalTo should not match a longer value.");
+        assertFalse(testedGender.equalTo('F').test("abc   "), "equalTo should not match a blank value.");
+    }
+
+    @Test
+    void greaterThan_numbers() {
+        assertTrue(testedAge.greaterThan(30).test("John        42"), "42 should be greater than 30.");
+        assertFalse(testedAge.greaterThan(42).test("John        42"), "42 should not be greater than 42.");
+        assertTrue(testedAge.lessThan(0).test("John       -10"), "-10 should be less than 0.");
+        assertTrue(testedAge.between(0, 10).test("John          "), "A blank value should be read as 0.");
+    }
+
+    @Test
+    void greaterThan_notANumber() {
+        assertFalse(testedAge.greaterThan(0).test("John       4x2"), "A value that is not a number should not match.");
+        assertFalse(testedAge.greaterThan(0).negate().negate().test("John       4x2"), "negate should be reversible.");
+    }
+
+    @Test
+    void isBlank() {
+        assertTrue(testedName.isBlank().test("          42"), "isBlank should match a column of spaces.");
+        assertFalse(testedName.isBlank().or(testedAge.isBlank()).test("John      42"), "or should match if either filter matches.");
+    }
+}
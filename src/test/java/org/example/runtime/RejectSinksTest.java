@@ -0,0 +1,74 @@
+package org.example.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RejectSinksTest {
+    @Test
+    void sampled_everyThird() {
+        List<Long> forwarded = new ArrayList<>();
+        RejectSink testedSink = RejectSinks.sampled((line, lineNo, byteOffset, reason, detail) -> forwarded.add(lineNo), 3);
+
+        for (long lineNo = 1; lineNo <= 7; lineNo++) {
+            testedSink.reject("line", lineNo, -1, RejectReason.LENGTH_MISMATCH, null);
+        }
+
+        assertEquals(List.of(1L, 4L, 7L), forwarded, "sampled_everyThird should forward the first line and then one out of every 3.");
+    }
+
+    @Test
+    void countOnly_byReason() {
+        CountingRejectSink testedSink = RejectSinks.countOnly();
+
+        testedSink.reject("line", 1, 0, RejectReason.LENGTH_MISMATCH, null);
+        testedSink.reject("line", 2, 5, RejectReason.CONVERSION_ERROR, "'x' is not a valid int at position 0-1.");
+        testedSink.reject("line", 3, 10, RejectReason.LENGTH_MISMATCH, null);
+
+        assertEquals(3, testedSink.getCount(), "There should be 3 rejected lines.");
+        assertEquals(2, testedSink.getCount(RejectReason.LENGTH_MISMATCH), "There should be 2 lines with an unexpected length.");
+    }
+
+    @Test
+    void async_flush() {
+        try {
+            List<String> forwarded = new ArrayList<>();
+            RejectSink testedSink = RejectSinks.async((line, lineNo, byteOffset, reason, detail) -> forwarded.add(line.toString()), 2);
+
+            StringBuilder line = new StringBuilder();
+            for (int i = 0; i < 10; i++) {
+                // The sink must copy the line, since the parser reuses it
+                line.setLength(0);
+                line.append("line").append(i);
+                testedSink.reject(line, i + 1, -1, RejectReason.LENGTH_MISMATCH, null);
+            }
+            testedSink.close();
+
+            assertEquals(10, forwarded.size(), "Every rejected line should be forwarded once the sink is closed.");
+            assertEquals("line9", forwarded.getLast(), "The lines should be forwarded in order.");
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void async_flushAfterClose() {
+        try {
+            RejectSink testedSink = RejectSinks.async((line, lineNo, byteOffset, reason, detail) -> { }, 2);
+            testedSink.reject("line", 1, -1, RejectReason.LENGTH_MISMATCH, null);
+            testedSink.close();
+
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThrows(IllegalStateException.class, testedSink::flush,
+                    "Flushing a closed sink should fail instead of waiting for the worker."));
+            testedSink.close();
+        } catch (Exception e) {
+            // Fail the test if an exception is thrown
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+}